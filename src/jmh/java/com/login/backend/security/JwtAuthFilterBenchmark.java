@@ -0,0 +1,94 @@
+package com.login.backend.security;
+
+import com.login.backend.cache.VerifiedTokenCache;
+import com.login.backend.metrics.AuthMetrics;
+import com.login.backend.service.TokenBlacklistService;
+import com.login.backend.service.TokenRevocationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full doFilterInternal path for an authenticated request, with the blacklist and
+ * revocation lookups mocked out so only the filter and token handling are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthFilterBenchmark {
+
+    private static final String[] PATHS = {
+            "/api/auth/login",
+            "/api/auth/refresh",
+            "/api/auth/.well-known/jwks.json",
+            "/api/health",
+            "/api/health/ready",
+            "/api/users/me",
+            "/api/auth/sessions",
+            "/api/users/42",
+    };
+
+    @Param({"HS256", "ES256"})
+    public String algorithm;
+
+    // With the cache off every request pays for the signature check
+    @Param({"true", "false"})
+    public boolean verifiedCacheEnabled;
+
+    private JwtAuthFilter filter;
+    private String authorizationHeader;
+    private int pathIndex;
+
+    @Setup
+    public void setUp() {
+        JwtUtil jwtUtil = JwtUtilBenchmark.newJwtUtil(algorithm);
+        filter = new JwtAuthFilter(
+                jwtUtil,
+                Mockito.mock(TokenBlacklistService.class),
+                new VerifiedTokenCache(verifiedCacheEnabled, 10_000, 300_000),
+                Mockito.mock(TokenRevocationService.class),
+                new AuthMetrics(new SimpleMeterRegistry()));
+        authorizationHeader = "Bearer " + jwtUtil.generateAccessToken("benchmark-user", "USER");
+    }
+
+    @Benchmark
+    public int doFilterInternal() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/me");
+        request.addHeader("Authorization", authorizationHeader);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilterInternal(request, response, new MockFilterChain());
+        } finally {
+            // The filter only authenticates when the context is empty
+            SecurityContextHolder.clearContext();
+        }
+        return response.getStatus();
+    }
+
+    @Benchmark
+    public boolean isPublicEndpoint() {
+        // Wrapped on every call so a long run cannot overflow into a negative index
+        pathIndex = (pathIndex + 1) % PATHS.length;
+        String path = PATHS[pathIndex];
+        return JwtAuthFilter.isPublicEndpoint(path);
+    }
+}
@@ -0,0 +1,65 @@
+package com.login.backend.security;
+
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issuing and parsing cost for both supported signing algorithms.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    static final String SECRET = "benchmark-secret-benchmark-secret-0123456789";
+
+    @Param({"HS256", "ES256"})
+    public String algorithm;
+
+    private JwtUtil jwtUtil;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = newJwtUtil(algorithm);
+        accessToken = jwtUtil.generateAccessToken("benchmark-user", "USER");
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtUtil.generateAccessToken("benchmark-user", "USER");
+    }
+
+    @Benchmark
+    public Claims extractClaims() {
+        return jwtUtil.extractClaims(accessToken);
+    }
+
+    // Wires JwtUtil the way the Spring context would, without starting one
+    static JwtUtil newJwtUtil(String algorithm) {
+        JwtKeyProperties properties = new JwtKeyProperties();
+        properties.setAlgorithm(algorithm);
+        properties.setAllowEphemeralKey(true);
+        JwtUtil jwtUtil = new JwtUtil(new JwtSigningKeys(properties, SECRET));
+        ReflectionTestUtils.setField(jwtUtil, "accessTokenExpiration", 1_800_000L);
+        ReflectionTestUtils.setField(jwtUtil, "refreshTokenExpiration", 259_200_000L);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+}
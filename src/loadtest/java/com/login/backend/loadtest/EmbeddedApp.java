@@ -0,0 +1,59 @@
+package com.login.backend.loadtest;
+
+import com.login.backend.BackendApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Runs the backend in-process on a random port against a throwaway embedded Postgres.
+ * H2 is not an option here: the token tables rely on Postgres-only SQL
+ * (ON CONFLICT, pg_notify, the session-cap CTE).
+ */
+class EmbeddedApp implements AutoCloseable {
+
+    private final EmbeddedPostgres postgres;
+    private final ConfigurableApplicationContext context;
+
+    private EmbeddedApp(EmbeddedPostgres postgres, ConfigurableApplicationContext context) {
+        this.postgres = postgres;
+        this.context = context;
+    }
+
+    static EmbeddedApp start() throws IOException {
+        EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+        try {
+            // Command-line arguments, not builder properties: those are only defaults and
+            // application.yml would override them
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(BackendApplication.class)
+                    .run(
+                            "--server.port=0",
+                            "--management.server.port=0",
+                            "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                            "--spring.datasource.username=postgres",
+                            "--spring.datasource.password=postgres",
+                            "--spring.devtools.restart.enabled=false",
+                            "--jwt.secret=" + UUID.randomUUID() + UUID.randomUUID(),
+                            "--app.cors.allowed-origins=http://localhost");
+            return new EmbeddedApp(postgres, context);
+        } catch (RuntimeException e) {
+            postgres.close();
+            throw e;
+        }
+    }
+
+    String baseUrl() {
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        return "http://localhost:" + port;
+    }
+
+    @Override
+    public void close() throws IOException {
+        context.close();
+        postgres.close();
+    }
+}
@@ -0,0 +1,107 @@
+package com.login.backend.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.login.backend.loadtest.LoadTestConfig.Operation;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives the register/login/refresh/me/logout flow from test-auth.sh with many concurrent
+ * virtual users and prints throughput and latency percentiles per endpoint.
+ *
+ * <p>Run with {@code ./mvnw -Ploadtest test-compile exec:java}. Without
+ * {@code -Dloadtest.base-url} the app is started in-process on embedded Postgres.
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        if (!config.embedded()) {
+            run(config);
+            return;
+        }
+        try (EmbeddedApp app = EmbeddedApp.start()) {
+            run(new LoadTestConfig(app.baseUrl(), config.users(), config.rampUp(),
+                    config.duration(), config.mix(), config.thinkTime()));
+        }
+    }
+
+    private static void run(LoadTestConfig config) throws InterruptedException {
+        System.out.printf("Load test against %s: %d users, ramp-up %ds, duration %ds, mix %s%n",
+                config.baseUrl(), config.users(), config.rampUp().toSeconds(),
+                config.duration().toSeconds(), config.mix());
+
+        Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+        Operation[] weightedOperations = weightedOperations(config.mix());
+        ObjectMapper objectMapper = new ObjectMapper();
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+
+        long startNanos = System.nanoTime();
+        long deadlineNanos = startNanos + config.rampUp().toNanos() + config.duration().toNanos();
+        long rampStepNanos = config.rampUp().toNanos() / Math.max(1, config.users());
+
+        // Virtual users block in HttpClient.send on their own virtual thread
+        try (HttpClient client = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .connectTimeout(Duration.ofSeconds(5))
+                     .build();
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+
+            for (int i = 0; i < config.users(); i++) {
+                long startAt = startNanos + i * rampStepNanos;
+                long waitNanos = startAt - System.nanoTime();
+                if (waitNanos > 0) {
+                    TimeUnit.NANOSECONDS.sleep(waitNanos);
+                }
+                executor.submit(new VirtualUser(client, objectMapper, config, "lt" + runId + "u" + i,
+                        weightedOperations, endpoint -> stats.computeIfAbsent(endpoint, EndpointStats::new),
+                        deadlineNanos));
+            }
+            // Closing the executor waits for every virtual user to pass its deadline
+        }
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+        report(stats, elapsed);
+    }
+
+    private static Operation[] weightedOperations(Map<Operation, Integer> mix) {
+        List<Operation> operations = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                operations.add(operation);
+            }
+        });
+        return operations.toArray(Operation[]::new);
+    }
+
+    private static void report(Map<String, EndpointStats> stats, Duration elapsed) {
+        double seconds = elapsed.toMillis() / 1000.0;
+        System.out.printf("%nCompleted in %.1fs%n", seconds);
+        System.out.printf("%-26s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+
+        long totalRequests = 0;
+        long totalErrors = 0;
+        List<EndpointStats> sorted = stats.values().stream()
+                .sorted(Comparator.comparing(EndpointStats::endpoint))
+                .toList();
+        for (EndpointStats endpoint : sorted) {
+            totalRequests += endpoint.count();
+            totalErrors += endpoint.errors();
+            System.out.printf("%-26s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    endpoint.endpoint(), endpoint.count(), endpoint.errors(), endpoint.count() / seconds,
+                    endpoint.percentileMillis(50), endpoint.percentileMillis(99),
+                    endpoint.percentileMillis(99.9), endpoint.maxMillis());
+        }
+        System.out.printf("%-26s %9d %7d %9.1f%n", "total", totalRequests, totalErrors, totalRequests / seconds);
+    }
+}
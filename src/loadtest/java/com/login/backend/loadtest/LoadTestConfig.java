@@ -0,0 +1,82 @@
+package com.login.backend.loadtest;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Load test settings, read from system properties so they can be passed straight through
+ * Maven, e.g. {@code -Dloadtest.users=200 -Dloadtest.mix=login=5,refresh=15,me=75,logout=5}.
+ */
+record LoadTestConfig(
+        String baseUrl,
+        int users,
+        Duration rampUp,
+        Duration duration,
+        Map<Operation, Integer> mix,
+        Duration thinkTime
+) {
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                System.getProperty("loadtest.base-url", ""),
+                Integer.getInteger("loadtest.users", 50),
+                Duration.ofSeconds(Long.getLong("loadtest.ramp-up-seconds", 10)),
+                Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 60)),
+                parseMix(System.getProperty("loadtest.mix", "login=10,refresh=20,me=60,logout=10")),
+                Duration.ofMillis(Long.getLong("loadtest.think-time-ms", 0))
+        );
+    }
+
+    // An empty base URL means "start the app ourselves against embedded Postgres"
+    boolean embedded() {
+        return baseUrl.isBlank();
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid loadtest.mix entry: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight in loadtest.mix: " + entry);
+            }
+            weights.put(Operation.fromKey(parts[0].trim()), weight);
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("loadtest.mix needs at least one positive weight");
+        }
+        return weights;
+    }
+
+    enum Operation {
+        LOGIN("login", "POST /api/auth/login"),
+        REFRESH("refresh", "POST /api/auth/refresh"),
+        ME("me", "GET /api/users/me"),
+        LOGOUT("logout", "POST /api/auth/logout");
+
+        private final String key;
+        private final String endpoint;
+
+        Operation(String key, String endpoint) {
+            this.key = key;
+            this.endpoint = endpoint;
+        }
+
+        String endpoint() {
+            return endpoint;
+        }
+
+        static Operation fromKey(String key) {
+            for (Operation operation : values()) {
+                if (operation.key.equalsIgnoreCase(key)) {
+                    return operation;
+                }
+            }
+            throw new IllegalArgumentException("Unknown loadtest.mix operation: " + key);
+        }
+    }
+}
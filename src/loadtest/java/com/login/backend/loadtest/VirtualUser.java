@@ -0,0 +1,176 @@
+package com.login.backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.login.backend.loadtest.LoadTestConfig.Operation;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * One simulated user: registers once, then keeps picking operations from the weighted mix
+ * until the deadline. Like test-auth.sh it logs in from a rotating set of devices, so every
+ * user ends up with several concurrent sessions and the session cap gets exercised.
+ */
+class VirtualUser implements Runnable {
+
+    private static final String PASSWORD = "password123";
+    private static final String REGISTER = "POST /api/auth/register";
+
+    private static final String[] DEVICES = {
+            "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36",
+            "Mozilla/5.0 (iPhone; CPU iPhone OS 17_0 like Mac OS X) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/17.0 Mobile/15E148 Safari/604.1",
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36",
+            "Mozilla/5.0 (Linux; Android 14; Pixel 8) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Mobile Safari/537.36",
+    };
+
+    private final HttpClient client;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final String username;
+    private final Operation[] weightedOperations;
+    private final Function<String, EndpointStats> stats;
+    private final Duration thinkTime;
+    private final long deadlineNanos;
+
+    private String accessToken;
+    private String refreshToken;
+    private int deviceIndex;
+
+    VirtualUser(HttpClient client, ObjectMapper objectMapper, LoadTestConfig config, String username,
+                Operation[] weightedOperations, Function<String, EndpointStats> stats, long deadlineNanos) {
+        this.client = client;
+        this.objectMapper = objectMapper;
+        this.baseUrl = config.baseUrl();
+        this.username = username;
+        this.weightedOperations = weightedOperations;
+        this.stats = stats;
+        this.thinkTime = config.thinkTime();
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    @Override
+    public void run() {
+        if (!register()) {
+            return;
+        }
+        while (System.nanoTime() < deadlineNanos && !Thread.currentThread().isInterrupted()) {
+            Operation operation = accessToken == null
+                    ? Operation.LOGIN
+                    : weightedOperations[ThreadLocalRandom.current().nextInt(weightedOperations.length)];
+            switch (operation) {
+                case LOGIN -> login();
+                case REFRESH -> refresh();
+                case ME -> me();
+                case LOGOUT -> logout();
+            }
+            if (!thinkTime.isZero()) {
+                try {
+                    Thread.sleep(thinkTime);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    private boolean register() {
+        String body = json(Map.of(
+                "username", username,
+                "email", username + "@loadtest.local",
+                "password", PASSWORD));
+        return send(REGISTER, post("/api/auth/register", body).build()) != null;
+    }
+
+    private void login() {
+        String body = json(Map.of("username", username, "password", PASSWORD));
+        HttpRequest request = post("/api/auth/login", body)
+                .header("User-Agent", DEVICES[deviceIndex++ % DEVICES.length])
+                .build();
+        JsonNode response = send(Operation.LOGIN.endpoint(), request);
+        if (response != null) {
+            accessToken = response.path("accessToken").asText(null);
+            refreshToken = response.path("refreshToken").asText(null);
+        }
+    }
+
+    private void refresh() {
+        String body = json(Map.of("refreshToken", refreshToken));
+        JsonNode response = send(Operation.REFRESH.endpoint(), post("/api/auth/refresh", body).build());
+        if (response != null) {
+            accessToken = response.path("accessToken").asText(null);
+        } else {
+            // Evicted by the session cap or revoked elsewhere: start over with a fresh login
+            accessToken = null;
+        }
+    }
+
+    private void me() {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/users/me"))
+                .header("Authorization", "Bearer " + accessToken)
+                .GET()
+                .build();
+        send(Operation.ME.endpoint(), request);
+    }
+
+    private void logout() {
+        String body = json(Map.of("refreshToken", refreshToken));
+        HttpRequest request = post("/api/auth/logout", body)
+                .header("Authorization", "Bearer " + accessToken)
+                .build();
+        send(Operation.LOGOUT.endpoint(), request);
+        accessToken = null;
+        refreshToken = null;
+    }
+
+    private HttpRequest.Builder post(String path, String body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+    }
+
+    // Returns the parsed body (an empty object for 204) on 2xx, null otherwise
+    private JsonNode send(String endpoint, HttpRequest request) {
+        long start = System.nanoTime();
+        HttpResponse<String> response;
+        try {
+            response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            stats.apply(endpoint).record(System.nanoTime() - start, false);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+
+        boolean success = response.statusCode() / 100 == 2;
+        stats.apply(endpoint).record(System.nanoTime() - start, success);
+        if (!success) {
+            return null;
+        }
+        String body = response.body();
+        if (body == null || body.isEmpty()) {
+            return objectMapper.createObjectNode();
+        }
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private String json(Map<String, String> fields) {
+        try {
+            return objectMapper.writeValueAsString(fields);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
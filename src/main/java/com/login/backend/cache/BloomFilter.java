@@ -0,0 +1,52 @@
+package com.login.backend.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter backed by an {@link AtomicLongArray} so that lookups and inserts
+ * never take a lock. Callers supply two independent 64-bit hashes per element and the
+ * bit positions are derived with double hashing (Kirsch-Mitzenmacher).
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashFunctions;
+
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        double p = Math.min(Math.max(falsePositiveRate, 1e-9), 0.5);
+
+        long bits = (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE, Math.max(1, (bits + 63) / 64));
+
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = (long) wordCount * 64;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+    }
+
+    public void put(long hash1, long hash2) {
+        long combined = hash1;
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Math.floorMod(combined, bitCount);
+            long mask = 1L << (bit & 63);
+            int index = (int) (bit >>> 6);
+            if ((words.get(index) & mask) == 0) {
+                words.getAndAccumulate(index, mask, (current, m) -> current | m);
+            }
+            combined += hash2;
+        }
+    }
+
+    public boolean mightContain(long hash1, long hash2) {
+        long combined = hash1;
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Math.floorMod(combined, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << (bit & 63))) == 0) {
+                return false;
+            }
+            combined += hash2;
+        }
+        return true;
+    }
+}
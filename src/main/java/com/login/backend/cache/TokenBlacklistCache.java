@@ -0,0 +1,102 @@
+package com.login.backend.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process mirror of the blacklisted_tokens table. A Bloom filter answers the common
+ * "definitely not revoked" case without locking; an exact map keyed by token id (jti) holds the
+ * expiry of every known entry so it can evict itself once tokens expire.
+ */
+@Slf4j
+@Component
+public class TokenBlacklistCache {
+
+    private final Map<UUID, LocalDateTime> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter bloomFilter;
+
+    public TokenBlacklistCache(
+            @Value("${app.token-blacklist.cache.expected-insertions:100000}") long expectedInsertions,
+            @Value("${app.token-blacklist.cache.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.bloomFilter = new BloomFilter(expectedInsertions, falsePositiveRate);
+    }
+
+    public boolean mightContain(UUID tokenId) {
+        return bloomFilter.mightContain(hash1(tokenId), hash2(tokenId));
+    }
+
+    public boolean contains(UUID tokenId) {
+        LocalDateTime expiryDate = entries.get(tokenId);
+        return expiryDate != null && expiryDate.isAfter(LocalDateTime.now());
+    }
+
+    public void put(UUID tokenId, LocalDateTime expiryDate) {
+        if (!expiryDate.isAfter(LocalDateTime.now())) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            entries.put(tokenId, expiryDate);
+            bloomFilter.put(hash1(tokenId), hash2(tokenId));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.token-blacklist.cache.eviction-interval-ms:60000}")
+    public void evictExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        writeLock.lock();
+        try {
+            int before = entries.size();
+            entries.values().removeIf(expiryDate -> !expiryDate.isAfter(now));
+            int evicted = before - entries.size();
+            if (evicted == 0) {
+                return;
+            }
+
+            // Bloom filters cannot forget, so rebuild from the surviving entries
+            BloomFilter rebuilt = new BloomFilter(Math.max(expectedInsertions, entries.size()), falsePositiveRate);
+            entries.keySet().forEach(tokenId -> rebuilt.put(hash1(tokenId), hash2(tokenId)));
+            bloomFilter = rebuilt;
+            log.debug("Evicted {} expired tokens from blacklist cache ({} remaining)", evicted, entries.size());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Random (v4) ids are already well distributed; mixing also covers name-based (v3) ids
+    private static long hash1(UUID tokenId) {
+        return mix(tokenId.getMostSignificantBits());
+    }
+
+    private static long hash2(UUID tokenId) {
+        return mix(tokenId.getLeastSignificantBits()) | 1L;
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
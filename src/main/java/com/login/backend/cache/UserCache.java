@@ -0,0 +1,205 @@
+package com.login.backend.cache;
+
+import com.login.backend.model.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Size-bounded, TTL-based cache of user rows, reachable by username and by id. Entries are
+ * detached copies and every read hands out a fresh copy, so callers can never mutate what
+ * other requests see. Only hits are cached; a missing user always goes to the database.
+ */
+@Component
+public class UserCache {
+
+    private final Map<String, Entry> byUsername = new ConcurrentHashMap<>();
+    private final Map<Long, Entry> byId = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    // Bumped on every invalidation; a load that overlapped one is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private final boolean enabled;
+    private final int maxSize;
+    private final long ttlMillis;
+
+    public UserCache(
+            @Value("${app.user-cache.enabled:true}") boolean enabled,
+            @Value("${app.user-cache.max-size:10000}") int maxSize,
+            @Value("${app.user-cache.ttl-ms:60000}") long ttlMillis) {
+        this.enabled = enabled;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+    }
+
+    public Optional<User> getByUsername(String username, Function<String, Optional<User>> loader) {
+        if (!enabled) {
+            return loader.apply(username);
+        }
+        return get(byUsername.get(username), () -> loader.apply(username));
+    }
+
+    public Optional<User> getById(Long id, Function<Long, Optional<User>> loader) {
+        if (!enabled) {
+            return loader.apply(id);
+        }
+        return get(byId.get(id), () -> loader.apply(id));
+    }
+
+    public void invalidate(Long id, String username) {
+        generation.incrementAndGet();
+        Entry removed = null;
+        if (username != null) {
+            removed = byUsername.remove(username);
+        }
+        if (id != null) {
+            Entry removedById = byId.remove(id);
+            removed = removed != null ? removed : removedById;
+        }
+        // The row may be cached under its old username if it was renamed
+        if (removed != null) {
+            byUsername.remove(removed.user().getUsername(), removed);
+            byId.remove(removed.user().getId(), removed);
+        }
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        byUsername.clear();
+        byId.clear();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int size() {
+        return byUsername.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    @Scheduled(fixedDelayString = "${app.user-cache.sweep-interval-ms:60000}")
+    public void evictExpired() {
+        if (enabled && !byUsername.isEmpty()) {
+            removeExpired(System.currentTimeMillis());
+        }
+    }
+
+    private Optional<User> get(Entry cached, Supplier<Optional<User>> loader) {
+        long now = System.currentTimeMillis();
+        if (cached != null) {
+            if (cached.expiresAtMillis() > now) {
+                hits.increment();
+                return Optional.of(copyOf(cached.user()));
+            }
+            remove(cached);
+            evictions.increment();
+        }
+
+        misses.increment();
+        long loadGeneration = generation.get();
+        Optional<User> loaded = loader.get();
+        loaded.ifPresent(user -> put(user, now, loadGeneration));
+        return loaded;
+    }
+
+    private void put(User user, long now, long loadGeneration) {
+        if (user.getId() == null || user.getUsername() == null) {
+            return;
+        }
+        if (byUsername.size() >= maxSize) {
+            makeRoom(now);
+        }
+        Entry entry = new Entry(copyOf(user), now + ttlMillis);
+        byUsername.put(user.getUsername(), entry);
+        byId.put(user.getId(), entry);
+        // Lost a race with an invalidation: drop what we just stored rather than serve stale data
+        if (generation.get() != loadGeneration) {
+            remove(entry);
+        }
+    }
+
+    private void remove(Entry entry) {
+        byUsername.remove(entry.user().getUsername(), entry);
+        byId.remove(entry.user().getId(), entry);
+    }
+
+    private void makeRoom(long now) {
+        // Only one thread sweeps at a time; the others insert and move on
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            removeExpired(now);
+            if (byUsername.size() < maxSize) {
+                return;
+            }
+
+            // Still full of live users: drop an arbitrary tenth to amortise the sweep
+            int excess = byUsername.size() - maxSize + Math.max(1, maxSize / 10);
+            Iterator<Entry> entries = byUsername.values().iterator();
+            while (excess-- > 0 && entries.hasNext()) {
+                Entry entry = entries.next();
+                entries.remove();
+                byId.remove(entry.user().getId(), entry);
+                evictions.increment();
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private void removeExpired(long now) {
+        Iterator<Entry> entries = byUsername.values().iterator();
+        while (entries.hasNext()) {
+            Entry entry = entries.next();
+            if (entry.expiresAtMillis() <= now) {
+                entries.remove();
+                byId.remove(entry.user().getId(), entry);
+                evictions.increment();
+            }
+        }
+    }
+
+    private static User copyOf(User user) {
+        return User.builder()
+                .id(user.getId())
+                .username(user.getUsername())
+                .email(user.getEmail())
+                .password(user.getPassword())
+                .role(user.getRole())
+                .createdAt(user.getCreatedAt())
+                .updatedAt(user.getUpdatedAt())
+                .tokensValidAfter(user.getTokensValidAfter())
+                .build();
+    }
+
+    private record Entry(User user, long expiresAtMillis) {
+    }
+}
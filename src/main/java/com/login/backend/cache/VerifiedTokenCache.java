@@ -0,0 +1,145 @@
+package com.login.backend.cache;
+
+import com.login.backend.security.TokenHasher;
+import com.login.backend.security.VerifiedToken;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Size-bounded cache of already verified access tokens, keyed by the SHA-256 digest of the
+ * compact token so the raw string is never retained. An entry never outlives the token's
+ * own {@code exp}.
+ */
+@Slf4j
+@Component
+public class VerifiedTokenCache {
+
+    private final Map<ByteBuffer, Entry> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private final boolean enabled;
+    private final int maxSize;
+    private final long ttlMillis;
+
+    public VerifiedTokenCache(
+            @Value("${app.jwt.verified-cache.enabled:true}") boolean enabled,
+            @Value("${app.jwt.verified-cache.max-size:10000}") int maxSize,
+            @Value("${app.jwt.verified-cache.ttl-ms:300000}") long ttlMillis) {
+        this.enabled = enabled;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+    }
+
+    public VerifiedToken getOrVerify(String token, Function<String, VerifiedToken> verifier) {
+        if (!enabled) {
+            return verifier.apply(token);
+        }
+
+        ByteBuffer key = ByteBuffer.wrap(TokenHasher.sha256(token));
+        long now = System.currentTimeMillis();
+
+        Entry cached = entries.get(key);
+        if (cached != null) {
+            if (cached.expiresAtMillis() > now) {
+                hits.increment();
+                return cached.token();
+            }
+            if (entries.remove(key, cached)) {
+                evictions.increment();
+            }
+        }
+
+        misses.increment();
+        VerifiedToken verified = verifier.apply(token);
+
+        long expiresAt = now + ttlMillis;
+        if (verified.expiresAt() != null) {
+            expiresAt = Math.min(expiresAt, verified.expiresAt().toEpochMilli());
+        }
+        if (expiresAt > now) {
+            if (entries.size() >= maxSize) {
+                makeRoom(now);
+            }
+            entries.put(key, new Entry(verified, expiresAt));
+        }
+        return verified;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.verified-cache.sweep-interval-ms:60000}")
+    public void evictExpired() {
+        if (enabled && !entries.isEmpty()) {
+            removeExpired(System.currentTimeMillis());
+        }
+    }
+
+    private void makeRoom(long now) {
+        // Only one thread sweeps at a time; the others insert and move on
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            removeExpired(now);
+            if (entries.size() < maxSize) {
+                return;
+            }
+
+            // Still full of live tokens: drop an arbitrary tenth to amortise the sweep
+            int excess = entries.size() - maxSize + Math.max(1, maxSize / 10);
+            Iterator<ByteBuffer> keys = entries.keySet().iterator();
+            while (excess-- > 0 && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+                evictions.increment();
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private void removeExpired(long now) {
+        Iterator<Entry> values = entries.values().iterator();
+        while (values.hasNext()) {
+            if (values.next().expiresAtMillis() <= now) {
+                values.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    private record Entry(VerifiedToken token, long expiresAtMillis) {
+    }
+}
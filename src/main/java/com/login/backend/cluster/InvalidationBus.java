@@ -0,0 +1,212 @@
+package com.login.backend.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Cluster-wide cache invalidation over Postgres LISTEN/NOTIFY. Services publish compact
+ * events; every node keeps one dedicated connection (outside the pool) listening on the
+ * channel and applies other nodes' events to its local caches. NOTIFY does not replay missed
+ * events, so every time LISTEN is (re)established the registered resync hooks reload local
+ * state, including the first time: caches warmed during startup miss whatever other nodes
+ * committed before this node listened. The bus starts before the web server and waits for
+ * that first resync, so no request is answered from the startup snapshot.
+ */
+@Slf4j
+@Component
+public class InvalidationBus implements SmartLifecycle {
+
+    // Lower phases start earlier and stop later than the web server
+    private static final int PHASE = WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 2048;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Map<String, List<Consumer<String>>> handlers = new ConcurrentHashMap<>();
+    private final List<Runnable> resyncHandlers = new CopyOnWriteArrayList<>();
+
+    private final boolean enabled;
+    private final String channel;
+    private final int pollTimeoutMillis;
+    private final long reconnectDelayMillis;
+    private final long startupTimeoutMillis;
+
+    private volatile boolean running;
+    private volatile Connection listenerConnection;
+    private volatile CountDownLatch firstResync = new CountDownLatch(1);
+    private Thread listenerThread;
+
+    public InvalidationBus(JdbcTemplate jdbcTemplate,
+                           DataSourceProperties dataSourceProperties,
+                           @Value("${app.invalidation-bus.enabled:true}") boolean enabled,
+                           @Value("${app.invalidation-bus.channel:auth_invalidation}") String channel,
+                           @Value("${app.invalidation-bus.poll-timeout-ms:500}") int pollTimeoutMillis,
+                           @Value("${app.invalidation-bus.reconnect-delay-ms:2000}") long reconnectDelayMillis,
+                           @Value("${app.invalidation-bus.startup-timeout-ms:10000}") long startupTimeoutMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.enabled = enabled;
+        this.channel = channel;
+        this.pollTimeoutMillis = pollTimeoutMillis;
+        this.reconnectDelayMillis = reconnectDelayMillis;
+        this.startupTimeoutMillis = startupTimeoutMillis;
+    }
+
+    public void subscribe(String type, Consumer<String> handler) {
+        handlers.computeIfAbsent(type, key -> new CopyOnWriteArrayList<>()).add(handler);
+    }
+
+    public void onResync(Runnable handler) {
+        resyncHandlers.add(handler);
+    }
+
+    // Inside a transaction the event is delivered when it commits; otherwise immediately
+    public void publish(String type, String payload) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", channel, nodeId + "|" + type + "|" + payload);
+        } catch (Exception e) {
+            log.warn("Failed to publish {} invalidation: {}", type, e.getMessage());
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        firstResync = new CountDownLatch(1);
+        listenerThread = new Thread(this::listen, "invalidation-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+        try {
+            if (!firstResync.await(startupTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                log.warn("Invalidation listener not connected after {} ms; starting with the startup snapshot",
+                        startupTimeoutMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+        closeQuietly(listenerConnection);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(
+                    dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(),
+                    dataSourceProperties.determinePassword())) {
+                listenerConnection = connection;
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                log.info("Listening for cache invalidations on channel {}", channel);
+
+                // Anything committed from here on arrives as a notification; resync covers the rest
+                resync();
+                firstResync.countDown();
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMillis);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            dispatch(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Invalidation listener lost its connection, reconnecting: {}", e.getMessage());
+                    sleep(reconnectDelayMillis);
+                }
+            }
+        }
+    }
+
+    private void dispatch(String message) {
+        String[] parts = message.split("\\|", 3);
+        if (parts.length < 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+        for (Consumer<String> handler : handlers.getOrDefault(parts[1], List.of())) {
+            try {
+                handler.accept(parts[2]);
+            } catch (Exception e) {
+                log.warn("Failed to apply {} invalidation: {}", parts[1], e.getMessage());
+            }
+        }
+    }
+
+    private void resync() {
+        log.info("Resynchronising local caches after connecting the listener");
+        for (Runnable handler : resyncHandlers) {
+            try {
+                handler.run();
+            } catch (Exception e) {
+                log.warn("Cache resync failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // shutting down
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.login.backend.config;
+
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fair semaphore that bounds how many request threads may hold a database connection at
+ * once. With virtual threads the container no longer caps concurrency, so this is what
+ * keeps tens of thousands of in-flight requests from stampeding the Hikari pool; the
+ * queue length is the backlog of work waiting on the database.
+ */
+public class DatabaseBulkhead {
+
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final long acquireTimeoutMillis;
+
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+
+    public DatabaseBulkhead(int maxConcurrent, long acquireTimeoutMillis) {
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxConcurrent = maxConcurrent;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+    }
+
+    public void acquire() throws SQLTransientConnectionException {
+        long start = System.nanoTime();
+        boolean granted;
+        try {
+            granted = permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for database bulkhead", e);
+        }
+        waitNanos.add(System.nanoTime() - start);
+
+        if (!granted) {
+            rejected.increment();
+            throw new SQLTransientConnectionException(
+                    "Database bulkhead full: no permit within " + acquireTimeoutMillis + " ms");
+        }
+        acquired.increment();
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    public int getQueueLength() {
+        return permits.getQueueLength();
+    }
+
+    public long getAcquiredCount() {
+        return acquired.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public long getTotalWaitNanos() {
+        return waitNanos.sum();
+    }
+}
@@ -0,0 +1,42 @@
+package com.login.backend.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "app.db-bulkhead.enabled", havingValue = "true", matchIfMissing = true)
+public class DatabaseBulkheadConfig {
+
+    @Bean
+    public static DatabaseBulkhead databaseBulkhead(Environment environment) {
+        // Default to the pool size so waiting happens here, visibly, rather than inside Hikari
+        int poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+        int maxConcurrent = environment.getProperty("app.db-bulkhead.max-concurrent", Integer.class, poolSize);
+        long acquireTimeout = environment.getProperty("app.db-bulkhead.acquire-timeout-ms", Long.class,
+                environment.getProperty("spring.datasource.hikari.connection-timeout", Long.class, 30000L));
+
+        log.info("Database bulkhead allows {} concurrent connections (timeout {} ms)", maxConcurrent, acquireTimeout);
+        return new DatabaseBulkhead(maxConcurrent, acquireTimeout);
+    }
+
+    @Bean
+    public static BeanPostProcessor bulkheadDataSourcePostProcessor(DatabaseBulkhead databaseBulkhead) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+                if (bean instanceof DataSource dataSource && !(bean instanceof BulkheadDataSource)) {
+                    return new BulkheadDataSource(dataSource, databaseBulkhead);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,103 @@
+package com.login.backend.controller;
+
+import com.login.backend.dto.BulkUserRequest;
+import com.login.backend.dto.BulkUserResult;
+import com.login.backend.dto.LoginEventPageResponse;
+import com.login.backend.model.LoginEventType;
+import com.login.backend.service.AdminUserService;
+import com.login.backend.service.LoginAuditService;
+import com.login.backend.service.UserExportService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminController {
+
+    private static final String EXPORT_RETRY_AFTER_SECONDS = "60";
+
+    private final UserExportService userExportService;
+    private final AdminUserService adminUserService;
+    private final LoginAuditService loginAuditService;
+
+    // Rows are written as they come off the cursor; the body is produced after this method returns.
+    // Each running export holds a pool connection, so the number of them is capped.
+    @GetMapping("/users/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(defaultValue = "ndjson") String format) {
+        UserExportService.Format exportFormat;
+        try {
+            exportFormat = UserExportService.Format.from(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        if (!userExportService.tryStartExport()) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, EXPORT_RETRY_AFTER_SECONDS)
+                    .build();
+        }
+
+        String filename = "users-" + LocalDate.now() + "." + exportFormat.getExtension();
+        StreamingResponseBody body = out -> {
+            try {
+                userExportService.export(exportFormat, out);
+            } finally {
+                userExportService.finishExport();
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+
+    // Revokes every refresh token and access token of the selected users (by ids or by role)
+    @PostMapping("/users/bulk/logout")
+    public ResponseEntity<BulkUserResult> bulkLogout(
+            @Valid @RequestBody BulkUserRequest request,
+            Authentication authentication) {
+        BulkUserResult result = adminUserService.forceLogout(request, authentication.getName());
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping("/users/bulk/delete")
+    public ResponseEntity<BulkUserResult> bulkDelete(
+            @Valid @RequestBody BulkUserRequest request,
+            Authentication authentication) {
+        BulkUserResult result = adminUserService.deleteUsers(request, authentication.getName());
+        return ResponseEntity.ok(result);
+    }
+
+    // Newest first; pass nextCursor from the previous page to continue
+    @GetMapping("/login-events")
+    public ResponseEntity<LoginEventPageResponse> getLoginEvents(
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        LoginEventType eventType = null;
+        if (type != null) {
+            try {
+                eventType = LoginEventType.valueOf(type.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+        return ResponseEntity.ok(loginAuditService.getEvents(username, eventType, cursor, limit));
+    }
+}
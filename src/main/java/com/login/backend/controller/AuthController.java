@@ -4,14 +4,16 @@ import com.login.backend.dto.AuthResponse;
 import com.login.backend.dto.LoginRequest;
 import com.login.backend.dto.RefreshTokenRequest;
 import com.login.backend.dto.RegisterRequest;
-import com.login.backend.model.RefreshToken;
 import com.login.backend.model.User;
+import com.login.backend.repository.projection.ActiveSession;
+import com.login.backend.security.JwtKeyProperties;
+import com.login.backend.security.JwtSigningKeys;
 import com.login.backend.service.AuthService;
 import com.login.backend.service.RefreshTokenService;
-import com.login.backend.service.UserService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -20,6 +22,7 @@ import org.springframework.web.bind.annotation.*;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @RestController
@@ -29,7 +32,8 @@ public class AuthController {
 
     private final AuthService authService;
     private final RefreshTokenService refreshTokenService;
-    private final UserService userService;
+    private final JwtSigningKeys jwtSigningKeys;
+    private final JwtKeyProperties jwtKeyProperties;
 
     @PostMapping("/register")
     public ResponseEntity<User> register(@Valid @RequestBody RegisterRequest request) {
@@ -48,26 +52,31 @@ public class AuthController {
     @PostMapping("/logout")
     public ResponseEntity<Void> logout(
             @RequestHeader("Authorization") String authHeader,
-            @RequestBody(required = false) Map<String, String> body) {
+            @RequestBody(required = false) Map<String, String> body,
+            Authentication authentication,
+            HttpServletRequest httpRequest) {
 
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String accessToken = authHeader.substring(7);
             String refreshToken = body != null ? body.get("refreshToken") : null;
-            authService.logout(accessToken, refreshToken);
+            String username = authentication != null ? authentication.getName() : null;
+            authService.logout(accessToken, refreshToken, username, httpRequest);
         }
         return ResponseEntity.noContent().build();
     }
 
     @PostMapping("/refresh")
-    public ResponseEntity<AuthResponse> refreshToken(@Valid @RequestBody RefreshTokenRequest request) {
-        AuthResponse response = authService.refreshToken(request);
+    public ResponseEntity<AuthResponse> refreshToken(
+            @Valid @RequestBody RefreshTokenRequest request,
+            HttpServletRequest httpRequest) {
+        AuthResponse response = authService.refreshToken(request, httpRequest);
         return ResponseEntity.ok(response);
     }
 
     @PostMapping("/logout-all")
-    public ResponseEntity<Void> logoutAllDevices(Authentication authentication) {
+    public ResponseEntity<Void> logoutAllDevices(Authentication authentication, HttpServletRequest httpRequest) {
         String username = authentication.getName();
-        authService.logoutAllDevices(username);
+        authService.logoutAllDevices(username, httpRequest);
         return ResponseEntity.noContent().build();
     }
 
@@ -79,26 +88,19 @@ public class AuthController {
         }
 
         String username = authentication.getName();
-        User user = userService.findByUsername(username);
-
-        if (user == null) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(Map.of("error", "User not found"));
-        }
-
-        List<RefreshToken> activeTokens = refreshTokenService.getUserActiveTokens(user);
+        List<ActiveSession> activeSessions = refreshTokenService.getActiveSessions(username);
 
         Map<String, Object> response = new HashMap<>();
         response.put("username", username);
-        response.put("activeDeviceCount", activeTokens.size());
-        response.put("sessions", activeTokens.stream()
-                .map(token -> {
+        response.put("activeDeviceCount", activeSessions.size());
+        response.put("sessions", activeSessions.stream()
+                .map(activeSession -> {
                     Map<String, Object> session = new HashMap<>();
-                    session.put("id", token.getId());
-                    session.put("deviceName", token.getDeviceName());
-                    session.put("ipAddress", token.getIpAddress());
-                    session.put("createdAt", token.getCreatedAt());
-                    session.put("expiresAt", token.getExpiryDate());
+                    session.put("id", activeSession.getId());
+                    session.put("deviceName", activeSession.getDeviceName());
+                    session.put("ipAddress", activeSession.getIpAddress());
+                    session.put("createdAt", activeSession.getCreatedAt());
+                    session.put("expiresAt", activeSession.getExpiryDate());
                     session.put("current", false); // TODO: mark current session
                     return session;
                 })
@@ -111,16 +113,15 @@ public class AuthController {
     public ResponseEntity<Void> revokeSession(
             @PathVariable Long tokenId,
             Authentication authentication) {
-        String username = authentication.getName();
-        User user = userService.findByUsername(username);
-
-        // Find the token and verify it belongs to this user
-        RefreshToken token = refreshTokenService.getUserActiveTokens(user).stream()
-                .filter(t -> t.getId().equals(tokenId))
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException("Token not found"));
-
-        refreshTokenService.revokeRefreshToken(token.getToken());
+        // Only revokes the session if it belongs to the caller; 404 otherwise
+        refreshTokenService.revokeSession(tokenId, authentication.getName());
         return ResponseEntity.noContent().build();
     }
+
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(jwtKeyProperties.getJwksMaxAgeSeconds(), TimeUnit.SECONDS).cachePublic())
+                .body(Map.of("keys", jwtSigningKeys.getJsonWebKeys()));
+    }
 }
@@ -1,8 +1,10 @@
 package com.login.backend.controller;
 
+import com.login.backend.service.HealthSnapshotService;
+import com.login.backend.service.HealthSnapshotService.HealthSnapshot;
+import com.login.backend.service.HealthSnapshotService.PoolStats;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
-import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -11,41 +13,68 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
+// All probes are served from the snapshot kept by HealthSnapshotService; none of them query the database
 @RestController
 @RequestMapping("/api/health")
 @RequiredArgsConstructor
 public class HealthController {
 
-    private final JdbcTemplate jdbcTemplate;
+    private final HealthSnapshotService healthSnapshotService;
 
     @GetMapping
     public ResponseEntity<Map<String, Object>> health() {
+        HealthSnapshot snapshot = healthSnapshotService.getSnapshot();
         Map<String, Object> health = new HashMap<>();
 
-        try {
-            jdbcTemplate.queryForObject("SELECT 1", Integer.class);
-            health.put("database", "UP");
+        health.put("status", snapshot.isUp() ? "UP" : "DOWN");
+        health.put("database", snapshot.databaseUp() ? "UP" : "DOWN");
+        health.put("userCount", snapshot.userEstimate() != null ? snapshot.userEstimate() : "N/A");
+        health.put("checkedAt", snapshot.refreshedAt());
+        health.put("timestamp", LocalDateTime.now());
+        if (snapshot.databaseError() != null) {
+            health.put("error", snapshot.databaseError());
+        }
 
-            try {
-                Integer userCount = jdbcTemplate.queryForObject(
-                        "SELECT COUNT(*) FROM users", Integer.class);
-                health.put("userCount", userCount);
-            } catch (Exception e) {
-                health.put("userCount", "N/A");
-            }
+        return ResponseEntity.status(snapshot.isUp() ? 200 : 503).body(health);
+    }
 
-            health.put("status", "UP");
-            health.put("timestamp", LocalDateTime.now());
+    // The process is up and serving requests; deliberately independent of the database
+    @GetMapping("/live")
+    public ResponseEntity<Map<String, Object>> liveness() {
+        Map<String, Object> health = new HashMap<>();
+        health.put("status", "UP");
+        health.put("timestamp", LocalDateTime.now());
+        return ResponseEntity.ok(health);
+    }
 
-            return ResponseEntity.ok(health);
+    @GetMapping("/ready")
+    public ResponseEntity<Map<String, Object>> readiness() {
+        HealthSnapshot snapshot = healthSnapshotService.getSnapshot();
+        boolean ready = healthSnapshotService.isReady();
+        PoolStats pool = snapshot.pool();
 
-        } catch (Exception e) {
-            health.put("status", "DOWN");
-            health.put("database", "DOWN");
-            health.put("error", e.getMessage());
-            health.put("timestamp", LocalDateTime.now());
+        Map<String, Object> connectionPool = new HashMap<>();
+        connectionPool.put("active", pool.active());
+        connectionPool.put("idle", pool.idle());
+        connectionPool.put("total", pool.total());
+        connectionPool.put("max", pool.max());
+        connectionPool.put("awaitingConnection", pool.awaitingConnection());
+        connectionPool.put("bulkheadQueue", pool.bulkheadQueue());
+        connectionPool.put("utilization", pool.utilization());
+        connectionPool.put("status", snapshot.poolSaturated() ? "SATURATED" : "UP");
 
-            return ResponseEntity.status(503).body(health);
+        Map<String, Object> health = new HashMap<>();
+        health.put("status", ready ? "UP" : "DOWN");
+        health.put("database", snapshot.databaseUp() ? "UP" : "DOWN");
+        health.put("jwtKeys", snapshot.keysAvailable() ? "UP" : "DOWN");
+        health.put("connectionPool", connectionPool);
+        health.put("userCount", snapshot.userEstimate() != null ? snapshot.userEstimate() : "N/A");
+        health.put("checkedAt", snapshot.refreshedAt());
+        health.put("timestamp", LocalDateTime.now());
+        if (snapshot.databaseError() != null) {
+            health.put("error", snapshot.databaseError());
         }
+
+        return ResponseEntity.status(ready ? 200 : 503).body(health);
     }
-}
\ No newline at end of file
+}
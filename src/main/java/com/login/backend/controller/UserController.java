@@ -2,6 +2,8 @@ package com.login.backend.controller;
 
 import com.login.backend.dto.ChangePasswordRequest;
 import com.login.backend.dto.UpdateProfileRequest;
+import com.login.backend.dto.UserPageResponse;
+import com.login.backend.model.Role;
 import com.login.backend.model.User;
 import com.login.backend.service.UserService;
 import jakarta.validation.Valid;
@@ -11,8 +13,6 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/users")
 @RequiredArgsConstructor
@@ -22,9 +22,12 @@ public class UserController {
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<User>> getAllUsers() {
-        List<User> users = userService.getAllUsers();
-        return ResponseEntity.ok(users);
+    public ResponseEntity<UserPageResponse> getAllUsers(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) Role role) {
+        UserPageResponse page = userService.getUsersPage(cursor, limit, role);
+        return ResponseEntity.ok(page);
     }
 
     @GetMapping("/me")
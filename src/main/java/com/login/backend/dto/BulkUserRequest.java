@@ -0,0 +1,24 @@
+package com.login.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.login.backend.model.Role;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkUserRequest {
+    @Size(max = 10000, message = "At most 10000 ids per request")
+    private List<Long> ids;
+
+    private Role role;
+
+    @JsonIgnore
+    @AssertTrue(message = "Specify either ids or role, not both")
+    public boolean isSingleTarget() {
+        boolean hasIds = ids != null && !ids.isEmpty();
+        return hasIds != (role != null);
+    }
+}
@@ -0,0 +1,20 @@
+package com.login.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUserResult {
+    private int matchedUsers;
+    // The calling admin is never part of a bulk operation
+    private int skippedUsers;
+    private int refreshTokensRevoked;
+    // Users whose access tokens were all revoked
+    private int usersRevoked;
+    private int usersDeleted;
+}
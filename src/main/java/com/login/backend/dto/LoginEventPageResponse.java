@@ -0,0 +1,20 @@
+package com.login.backend.dto;
+
+import com.login.backend.model.LoginEvent;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoginEventPageResponse {
+    private List<LoginEvent> events;
+    // Pass back as ?cursor= to fetch older events; null on the last page
+    private Long nextCursor;
+    private int limit;
+}
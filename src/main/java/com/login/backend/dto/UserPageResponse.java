@@ -0,0 +1,20 @@
+package com.login.backend.dto;
+
+import com.login.backend.repository.projection.UserSummary;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPageResponse {
+    private List<UserSummary> users;
+    // Pass back as ?cursor= to fetch the next page; null on the last page
+    private Long nextCursor;
+    private int limit;
+}
@@ -0,0 +1,94 @@
+package com.login.backend.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+@Component
+public class AuthMetrics {
+
+    private final MeterRegistry registry;
+
+    private final Timer jwtVerification;
+    private final Timer passwordMatches;
+    private final Timer blacklistLookup;
+    private final Map<String, Timer> refreshTokenOperations = new ConcurrentHashMap<>();
+
+    private final Counter loginSuccess;
+    private final Counter loginFailure;
+    private final Counter refreshes;
+    private final Counter logouts;
+    private final Counter sessionEvictions;
+
+    public AuthMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.jwtVerification = latencyTimer("auth.jwt.verify", "Access token verification in JwtAuthFilter");
+        this.passwordMatches = latencyTimer("auth.password.matches", "PasswordEncoder.matches during login");
+        this.blacklistLookup = latencyTimer("auth.blacklist.lookup", "Access token blacklist lookup");
+
+        this.loginSuccess = Counter.builder("auth.login").tag("result", "success").register(registry);
+        this.loginFailure = Counter.builder("auth.login").tag("result", "failure").register(registry);
+        this.refreshes = Counter.builder("auth.refresh").register(registry);
+        this.logouts = Counter.builder("auth.logout").register(registry);
+        this.sessionEvictions = Counter.builder("auth.sessions.evicted")
+                .description("Sessions revoked by the per-user session cap")
+                .register(registry);
+    }
+
+    public <T> T timeJwtVerification(Supplier<T> verification) {
+        return jwtVerification.record(verification);
+    }
+
+    public boolean timePasswordMatches(Supplier<Boolean> matches) {
+        return Boolean.TRUE.equals(passwordMatches.record(matches));
+    }
+
+    public boolean timeBlacklistLookup(Supplier<Boolean> lookup) {
+        return Boolean.TRUE.equals(blacklistLookup.record(lookup));
+    }
+
+    public <T> T timeRefreshTokenOperation(String operation, Supplier<T> action) {
+        return refreshTokenOperations
+                .computeIfAbsent(operation, op -> Timer.builder("auth.refresh_token.operation")
+                        .tag("operation", op)
+                        .publishPercentiles(0.5, 0.99)
+                        .publishPercentileHistogram()
+                        .register(registry))
+                .record(action);
+    }
+
+    public void loginSucceeded() {
+        loginSuccess.increment();
+    }
+
+    public void loginFailed() {
+        loginFailure.increment();
+    }
+
+    public void refreshed() {
+        refreshes.increment();
+    }
+
+    public void loggedOut() {
+        logouts.increment();
+    }
+
+    public void sessionsEvicted(long count) {
+        if (count > 0) {
+            sessionEvictions.increment(count);
+        }
+    }
+
+    private Timer latencyTimer(String name, String description) {
+        return Timer.builder(name)
+                .description(description)
+                .publishPercentiles(0.5, 0.99)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
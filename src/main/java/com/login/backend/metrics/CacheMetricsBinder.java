@@ -0,0 +1,90 @@
+package com.login.backend.metrics;
+
+import com.login.backend.cache.TokenBlacklistCache;
+import com.login.backend.cache.UserCache;
+import com.login.backend.cache.VerifiedTokenCache;
+import com.login.backend.config.DatabaseBulkhead;
+import com.login.backend.scheduler.TokenCleanupScheduler;
+import com.login.backend.service.LoginAuditService;
+import com.login.backend.service.TokenRevocationService;
+import com.login.backend.service.TokenWriteBehindService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+// Exposes the counters our in-process caches, queues and jobs already keep as meters
+@Component
+@RequiredArgsConstructor
+public class CacheMetricsBinder implements MeterBinder {
+
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenBlacklistCache tokenBlacklistCache;
+    private final UserCache userCache;
+    private final TokenRevocationService tokenRevocationService;
+    private final TokenWriteBehindService writeBehindService;
+    private final TokenCleanupScheduler tokenCleanupScheduler;
+    private final LoginAuditService loginAuditService;
+    private final ObjectProvider<DatabaseBulkhead> databaseBulkhead;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("auth.jwt.cache.requests", verifiedTokenCache, VerifiedTokenCache::getHits)
+                .tag("result", "hit").register(registry);
+        FunctionCounter.builder("auth.jwt.cache.requests", verifiedTokenCache, VerifiedTokenCache::getMisses)
+                .tag("result", "miss").register(registry);
+        FunctionCounter.builder("auth.jwt.cache.evictions", verifiedTokenCache, VerifiedTokenCache::getEvictions)
+                .register(registry);
+        Gauge.builder("auth.jwt.cache.size", verifiedTokenCache, VerifiedTokenCache::size).register(registry);
+
+        FunctionCounter.builder("auth.user.cache.requests", userCache, UserCache::getHits)
+                .tag("result", "hit").register(registry);
+        FunctionCounter.builder("auth.user.cache.requests", userCache, UserCache::getMisses)
+                .tag("result", "miss").register(registry);
+        FunctionCounter.builder("auth.user.cache.evictions", userCache, UserCache::getEvictions).register(registry);
+        Gauge.builder("auth.user.cache.size", userCache, UserCache::size).register(registry);
+
+        Gauge.builder("auth.blacklist.cache.size", tokenBlacklistCache, TokenBlacklistCache::size).register(registry);
+        Gauge.builder("auth.revocation.epochs", tokenRevocationService, TokenRevocationService::size).register(registry);
+        Gauge.builder("auth.write_behind.pending", writeBehindService, TokenWriteBehindService::getPendingCount)
+                .register(registry);
+
+        Gauge.builder("auth.login_audit.pending", loginAuditService, LoginAuditService::getPendingCount)
+                .register(registry);
+        FunctionCounter.builder("auth.login_audit.events", loginAuditService, LoginAuditService::getRecordedCount)
+                .tag("result", "recorded").register(registry);
+        FunctionCounter.builder("auth.login_audit.events", loginAuditService, LoginAuditService::getDroppedCount)
+                .tag("result", "dropped").register(registry);
+        FunctionCounter.builder("auth.login_audit.events", loginAuditService, LoginAuditService::getWrittenCount)
+                .tag("result", "written").register(registry);
+
+        FunctionCounter.builder("auth.token_purge.deleted", tokenCleanupScheduler,
+                        TokenCleanupScheduler::getRefreshTokensPurged)
+                .tag("table", "refresh_tokens").register(registry);
+        FunctionCounter.builder("auth.token_purge.deleted", tokenCleanupScheduler,
+                        TokenCleanupScheduler::getBlacklistedTokensPurged)
+                .tag("table", "blacklisted_tokens").register(registry);
+        Gauge.builder("auth.token_purge.backlog", tokenCleanupScheduler, TokenCleanupScheduler::getRefreshTokenBacklog)
+                .tag("table", "refresh_tokens").register(registry);
+        Gauge.builder("auth.token_purge.backlog", tokenCleanupScheduler, TokenCleanupScheduler::getBlacklistedTokenBacklog)
+                .tag("table", "blacklisted_tokens").register(registry);
+        Gauge.builder("auth.token_purge.last_run.duration", tokenCleanupScheduler,
+                        scheduler -> scheduler.getLastRunDurationMillis() / 1000.0)
+                .baseUnit("seconds").register(registry);
+
+        databaseBulkhead.ifAvailable(bulkhead -> {
+            Gauge.builder("db.bulkhead.available", bulkhead, DatabaseBulkhead::getAvailablePermits).register(registry);
+            Gauge.builder("db.bulkhead.queued", bulkhead, DatabaseBulkhead::getQueueLength).register(registry);
+            FunctionCounter.builder("db.bulkhead.rejected", bulkhead, DatabaseBulkhead::getRejectedCount)
+                    .register(registry);
+            FunctionCounter.builder("db.bulkhead.wait", bulkhead,
+                            b -> TimeUnit.NANOSECONDS.toMillis(b.getTotalWaitNanos()) / 1000.0)
+                    .baseUnit("seconds").register(registry);
+        });
+    }
+}
@@ -3,11 +3,12 @@ package com.login.backend.model;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 @Entity
 @Table(name = "blacklisted_tokens", indexes = {
-        @Index(name = "idx_token", columnList = "token"),
-        @Index(name = "idx_expiry_date", columnList = "expiryDate")
+        @Index(name = "uk_blacklisted_tokens_token_id", columnList = "tokenId", unique = true),
+        @Index(name = "idx_blacklisted_tokens_expiry_date", columnList = "expiryDate")
 })
 @Data
 @NoArgsConstructor
@@ -20,12 +21,13 @@ public class BlacklistedToken {
     @SequenceGenerator(
             name = "blacklist_seq",
             sequenceName = "blacklisted_tokens_id_seq",
-            allocationSize = 1
+            allocationSize = 50
     )
     private Long id;
 
-    @Column(nullable = false, unique = true, length = 500)
-    private String token;
+    // jti of the revoked access token; a fixed-width uuid keeps the unique index small
+    @Column(nullable = false)
+    private UUID tokenId;
 
     @Column(nullable = false)
     private LocalDateTime expiryDate;
@@ -0,0 +1,47 @@
+package com.login.backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+// Audit trail of authentication events; keyed by username, not user_id, so history outlives the account
+@Entity
+@Table(name = "login_events", indexes = {
+        @Index(name = "idx_login_events_username_id", columnList = "username, id"),
+        @Index(name = "idx_login_events_type_id", columnList = "eventType, id"),
+        @Index(name = "idx_login_events_occurred_at", columnList = "occurredAt")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LoginEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "login_event_seq")
+    @SequenceGenerator(
+            name = "login_event_seq",
+            sequenceName = "login_events_id_seq",
+            allocationSize = 50
+    )
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private LoginEventType eventType;
+
+    @Column(nullable = false, length = 50)
+    private String username;
+
+    @Column(length = 45)
+    private String ipAddress;
+
+    @Column(length = 500)
+    private String userAgent;
+
+    @Column(length = 255)
+    private String deviceName;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+}
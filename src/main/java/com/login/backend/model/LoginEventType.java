@@ -0,0 +1,9 @@
+package com.login.backend.model;
+
+public enum LoginEventType {
+    LOGIN_SUCCESS,
+    LOGIN_FAILURE,
+    REFRESH,
+    LOGOUT,
+    LOGOUT_ALL
+}
@@ -6,9 +6,10 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "refresh_tokens", indexes = {
-        @Index(name = "idx_token", columnList = "token"),
-        @Index(name = "idx_user_revoked", columnList = "user_id, revoked"),
-        @Index(name = "idx_expiry_date", columnList = "expiryDate")
+        @Index(name = "uk_refresh_tokens_token_hash", columnList = "tokenHash", unique = true),
+        @Index(name = "idx_refresh_tokens_user_revoked", columnList = "user_id, revoked"),
+        @Index(name = "idx_refresh_tokens_expiry_date", columnList = "expiryDate"),
+        @Index(name = "idx_refresh_tokens_revoked_at", columnList = "revokedAt")
 })
 @Data
 @NoArgsConstructor
@@ -21,11 +22,16 @@ public class RefreshToken {
     @SequenceGenerator(
             name = "refresh_token_seq",
             sequenceName = "refresh_tokens_id_seq",
-            allocationSize = 1
+            allocationSize = 50
     )
     private Long id;
 
-    @Column(nullable = false, unique = true, length = 500)
+    // SHA-256 of the opaque token handed to the client; the plaintext is never stored
+    @Column(nullable = false, length = 32)
+    private byte[] tokenHash;
+
+    // Plaintext token, only set on the instance returned right after creation
+    @Transient
     private String token;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -41,6 +47,8 @@ public class RefreshToken {
     @Column(nullable = false)
     private boolean revoked = false;
 
+    private LocalDateTime revokedAt;
+
     @Column(length = 255)
     private String deviceName;
 
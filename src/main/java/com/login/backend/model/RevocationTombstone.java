@@ -0,0 +1,27 @@
+package com.login.backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * Revocation epoch of a deleted user. The epoch normally lives on the user row, which is gone
+ * after a delete; the tombstone keeps it until every access token it covers has expired.
+ */
+@Entity
+@Table(name = "revocation_tombstones", indexes = {
+        @Index(name = "idx_revocation_tombstones_tokens_valid_after", columnList = "tokensValidAfter")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevocationTombstone {
+
+    @Id
+    @Column(length = 50)
+    private String username;
+
+    @Column(nullable = false)
+    private LocalDateTime tokensValidAfter;
+}
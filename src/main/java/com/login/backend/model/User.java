@@ -9,7 +9,8 @@ import java.time.LocalDateTime;
         name = "users",
         indexes = {
                 @Index(name = "idx_username", columnList = "username"),
-                @Index(name = "idx_email", columnList = "email")
+                @Index(name = "idx_email", columnList = "email"),
+                @Index(name = "idx_users_role_id", columnList = "role, id")
         }
 )
 @Data
@@ -22,7 +23,7 @@ public class User {
     @SequenceGenerator(
             name = "user_seq",
             sequenceName = "users_id_seq",
-            allocationSize = 1
+            allocationSize = 50
     )
     private Long id;
 
@@ -45,6 +46,9 @@ public class User {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
 
+    // Access tokens issued before this instant are rejected (logout-all, password change)
+    private LocalDateTime tokensValidAfter;
+
     @PrePersist
     protected void onCreate() {
         LocalDateTime now = LocalDateTime.now();
@@ -6,13 +6,22 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
 
 @Repository
 public interface BlacklistedTokenRepository extends JpaRepository<BlacklistedToken, Long> {
 
-    boolean existsByToken(String token);
+    boolean existsByTokenId(UUID tokenId);
+
+    List<BlacklistedToken> findByExpiryDateAfter(LocalDateTime now);
 
     @Modifying
-    @Query("DELETE FROM BlacklistedToken bt WHERE bt.expiryDate < :now")
-    int deleteExpiredTokens(LocalDateTime now);
+    @Query(value = "DELETE FROM blacklisted_tokens WHERE id IN " +
+            "(SELECT id FROM blacklisted_tokens WHERE expiry_date < :now LIMIT :batchSize)", nativeQuery = true)
+    int deleteExpiredBatch(LocalDateTime now, int batchSize);
+
+    @Query(value = "SELECT count(*) FROM (SELECT 1 FROM blacklisted_tokens WHERE expiry_date < :now LIMIT :cap) backlog",
+            nativeQuery = true)
+    long countPurgeBacklog(LocalDateTime now, int cap);
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.login.backend.repository;
+
+import com.login.backend.model.LoginEvent;
+import com.login.backend.model.LoginEventType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+// Newest-first keyset pages: WHERE id < :cursor ORDER BY id DESC LIMIT n
+@Repository
+public interface LoginEventRepository extends JpaRepository<LoginEvent, Long> {
+
+    List<LoginEvent> findByIdLessThanOrderByIdDesc(Long cursor, Limit limit);
+
+    List<LoginEvent> findByUsernameAndIdLessThanOrderByIdDesc(String username, Long cursor, Limit limit);
+
+    List<LoginEvent> findByEventTypeAndIdLessThanOrderByIdDesc(LoginEventType eventType, Long cursor, Limit limit);
+
+    List<LoginEvent> findByUsernameAndEventTypeAndIdLessThanOrderByIdDesc(
+            String username, LoginEventType eventType, Long cursor, Limit limit);
+}
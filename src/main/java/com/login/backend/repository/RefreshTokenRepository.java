@@ -2,34 +2,89 @@ package com.login.backend.repository;
 
 import com.login.backend.model.RefreshToken;
 import com.login.backend.model.User;
+import com.login.backend.repository.projection.ActiveSession;
+import com.login.backend.repository.projection.RefreshTokenDetails;
+import com.login.backend.repository.projection.SessionCapResult;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
 
-    Optional<RefreshToken> findByToken(String token);
+    @Query("SELECT rt.id AS id, rt.revoked AS revoked, rt.expiryDate AS expiryDate, rt.deviceName AS deviceName, " +
+            "u.username AS username, u.role AS role " +
+            "FROM RefreshToken rt JOIN rt.user u WHERE rt.tokenHash = :tokenHash")
+    Optional<RefreshTokenDetails> findDetailsByTokenHash(byte[] tokenHash);
 
     List<RefreshToken> findByUser(User user);
 
-    List<RefreshToken> findByUserAndRevokedFalse(User user);
+    @Query("SELECT rt.id AS id, rt.deviceName AS deviceName, rt.ipAddress AS ipAddress, " +
+            "rt.createdAt AS createdAt, rt.expiryDate AS expiryDate " +
+            "FROM RefreshToken rt JOIN rt.user u WHERE u.username = :username AND rt.revoked = false " +
+            "ORDER BY rt.createdAt DESC")
+    List<ActiveSession> findActiveSessions(String username);
 
+    // Ownership check and revocation in one statement; 0 means not found, not owned or already revoked
     @Modifying
-    @Query("DELETE FROM RefreshToken rt WHERE rt.expiryDate < :now")
-    int deleteExpiredTokens(LocalDateTime now);
+    @Query("UPDATE RefreshToken rt SET rt.revoked = true, rt.revokedAt = :now " +
+            "WHERE rt.id = :id AND rt.revoked = false " +
+            "AND rt.user.id = (SELECT u.id FROM User u WHERE u.username = :username)")
+    int revokeSession(Long id, String username, LocalDateTime now);
+
+    // Purge helpers delete at most :batchSize rows so each transaction stays short
+    @Modifying
+    @Query(value = "DELETE FROM refresh_tokens WHERE id IN " +
+            "(SELECT id FROM refresh_tokens WHERE expiry_date < :now LIMIT :batchSize)", nativeQuery = true)
+    int deleteExpiredBatch(LocalDateTime now, int batchSize);
+
+    @Modifying
+    @Query(value = "DELETE FROM refresh_tokens WHERE id IN " +
+            "(SELECT id FROM refresh_tokens WHERE revoked = true AND revoked_at < :revokedBefore LIMIT :batchSize)",
+            nativeQuery = true)
+    int deleteRevokedBatch(LocalDateTime revokedBefore, int batchSize);
+
+    @Query(value = "SELECT count(*) FROM (SELECT 1 FROM refresh_tokens " +
+            "WHERE expiry_date < :now OR (revoked = true AND revoked_at < :revokedBefore) LIMIT :cap) backlog",
+            nativeQuery = true)
+    long countPurgeBacklog(LocalDateTime now, LocalDateTime revokedBefore, int cap);
 
     @Modifying
     @Query("DELETE FROM RefreshToken rt WHERE rt.user.id = :userId")
     void deleteByUserId(Long userId);
 
     @Modifying
-    @Query("UPDATE RefreshToken rt SET rt.revoked = true WHERE rt.user.id = :userId AND rt.revoked = false")
-    int revokeAllUserTokens(Long userId);
+    @Query("UPDATE RefreshToken rt SET rt.revoked = true, rt.revokedAt = :now " +
+            "WHERE rt.user.id = :userId AND rt.revoked = false")
+    int revokeAllUserTokens(Long userId, LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE RefreshToken rt SET rt.revoked = true, rt.revokedAt = :now " +
+            "WHERE rt.user.id IN :userIds AND rt.revoked = false")
+    int revokeAllForUsers(Collection<Long> userIds, LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken rt WHERE rt.user.id IN :userIds")
+    int deleteAllForUsers(Collection<Long> userIds);
 
-    long countByUserAndRevokedFalse(User user);
+    // Revokes all but the newest :keep active sessions of the user in one statement
+    @Query(value = """
+            WITH active AS (
+                SELECT id, row_number() OVER (ORDER BY created_at DESC, id DESC) AS rn
+                FROM refresh_tokens
+                WHERE user_id = :userId AND revoked = false
+            ), evicted AS (
+                UPDATE refresh_tokens SET revoked = true, revoked_at = :now
+                WHERE id IN (SELECT id FROM active WHERE rn > :keep)
+                RETURNING id
+            )
+            SELECT (SELECT count(*) FROM active) - (SELECT count(*) FROM evicted) AS remaining,
+                   (SELECT count(*) FROM evicted) AS evicted
+            """, nativeQuery = true)
+    SessionCapResult enforceSessionCap(Long userId, int keep, LocalDateTime now);
 }
\ No newline at end of file
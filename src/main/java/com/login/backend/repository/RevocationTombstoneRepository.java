@@ -0,0 +1,38 @@
+package com.login.backend.repository;
+
+import com.login.backend.model.RevocationTombstone;
+import com.login.backend.repository.projection.RevocationEpoch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface RevocationTombstoneRepository extends JpaRepository<RevocationTombstone, String> {
+
+    @Query("SELECT t.username AS username, t.tokensValidAfter AS tokensValidAfter " +
+            "FROM RevocationTombstone t WHERE t.tokensValidAfter > :since")
+    List<RevocationEpoch> findRevocationEpochsSince(LocalDateTime since);
+
+    // A username can be deleted, registered again and deleted again
+    @Modifying
+    @Query(value = "INSERT INTO revocation_tombstones (username, tokens_valid_after) VALUES (:username, :validAfter) " +
+            "ON CONFLICT (username) DO UPDATE SET tokens_valid_after = EXCLUDED.tokens_valid_after", nativeQuery = true)
+    int upsert(String username, LocalDateTime validAfter);
+
+    // Reads the usernames from the user rows, so it must run before they are deleted
+    @Modifying
+    @Query(value = "INSERT INTO revocation_tombstones (username, tokens_valid_after) " +
+            "SELECT username, :validAfter FROM users WHERE id IN :ids " +
+            "ON CONFLICT (username) DO UPDATE SET tokens_valid_after = EXCLUDED.tokens_valid_after", nativeQuery = true)
+    int upsertForUsers(Collection<Long> ids, LocalDateTime validAfter);
+
+    @Modifying
+    @Query(value = "DELETE FROM revocation_tombstones WHERE username IN " +
+            "(SELECT username FROM revocation_tombstones WHERE tokens_valid_after < :before LIMIT :batchSize)",
+            nativeQuery = true)
+    int deleteExpiredBatch(LocalDateTime before, int batchSize);
+}
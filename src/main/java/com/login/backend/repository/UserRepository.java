@@ -2,9 +2,17 @@ package com.login.backend.repository;
 
 import com.login.backend.model.Role;
 import com.login.backend.model.User;
+import com.login.backend.repository.projection.RevocationEpoch;
+import com.login.backend.repository.projection.UserIdentity;
+import com.login.backend.repository.projection.UserSummary;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,5 +29,38 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     List<User> findByRole(Role role);
 
+    // Keyset pages: WHERE id > :cursor ORDER BY id LIMIT n, served from the primary key / (role, id) index
+    List<UserSummary> findByIdGreaterThanOrderByIdAsc(Long cursor, Limit limit);
+
+    List<UserSummary> findByRoleAndIdGreaterThanOrderByIdAsc(Role role, Long cursor, Limit limit);
+
     void deleteByUsername(String username);
+
+    @Query("SELECT u.username AS username, u.tokensValidAfter AS tokensValidAfter " +
+            "FROM User u WHERE u.tokensValidAfter > :since")
+    List<RevocationEpoch> findRevocationEpochsSince(LocalDateTime since);
+
+    @Modifying
+    @Query("UPDATE User u SET u.tokensValidAfter = :validAfter WHERE u.username = :username")
+    int updateTokensValidAfter(String username, LocalDateTime validAfter);
+
+    // Only replaces the hash it was computed from, so a concurrent password change wins
+    @Modifying
+    @Query("UPDATE User u SET u.password = :upgradedHash, u.updatedAt = :now " +
+            "WHERE u.id = :id AND u.password = :currentHash")
+    int upgradePasswordHash(Long id, String currentHash, String upgradedHash, LocalDateTime now);
+
+    // Bulk admin operations: resolve the targets once, then act on them with set-based statements
+    List<UserIdentity> findIdentitiesByIdIn(Collection<Long> ids);
+
+    // Keyset page of a role, so a large role is never loaded in one go
+    List<UserIdentity> findIdentitiesByRoleAndIdGreaterThanOrderByIdAsc(Role role, Long id, Limit limit);
+
+    @Modifying
+    @Query("UPDATE User u SET u.tokensValidAfter = :validAfter WHERE u.id IN :ids")
+    int updateTokensValidAfterByIds(Collection<Long> ids, LocalDateTime validAfter);
+
+    @Modifying
+    @Query("DELETE FROM User u WHERE u.id IN :ids")
+    int deleteAllByIds(Collection<Long> ids);
 }
\ No newline at end of file
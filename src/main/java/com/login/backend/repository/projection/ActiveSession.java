@@ -0,0 +1,17 @@
+package com.login.backend.repository.projection;
+
+import java.time.LocalDateTime;
+
+// The columns GET /api/auth/sessions displays for each session
+public interface ActiveSession {
+
+    Long getId();
+
+    String getDeviceName();
+
+    String getIpAddress();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getExpiryDate();
+}
@@ -0,0 +1,21 @@
+package com.login.backend.repository.projection;
+
+import com.login.backend.model.Role;
+
+import java.time.LocalDateTime;
+
+// What the refresh endpoint needs from a token and its owner, read in one query
+public interface RefreshTokenDetails {
+
+    Long getId();
+
+    boolean isRevoked();
+
+    LocalDateTime getExpiryDate();
+
+    String getDeviceName();
+
+    String getUsername();
+
+    Role getRole();
+}
@@ -0,0 +1,10 @@
+package com.login.backend.repository.projection;
+
+import java.time.LocalDateTime;
+
+public interface RevocationEpoch {
+
+    String getUsername();
+
+    LocalDateTime getTokensValidAfter();
+}
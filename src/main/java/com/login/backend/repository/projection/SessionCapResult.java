@@ -0,0 +1,9 @@
+package com.login.backend.repository.projection;
+
+public interface SessionCapResult {
+
+    // Active sessions left after the oldest ones were revoked
+    long getRemaining();
+
+    long getEvicted();
+}
@@ -0,0 +1,9 @@
+package com.login.backend.repository.projection;
+
+// Just enough of a user to target bulk operations and announce them to other nodes
+public interface UserIdentity {
+
+    Long getId();
+
+    String getUsername();
+}
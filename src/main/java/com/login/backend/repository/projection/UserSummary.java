@@ -0,0 +1,19 @@
+package com.login.backend.repository.projection;
+
+import com.login.backend.model.Role;
+
+import java.time.LocalDateTime;
+
+// Columns shown in the admin user listing; deliberately leaves out the password hash
+public interface UserSummary {
+
+    Long getId();
+
+    String getUsername();
+
+    String getEmail();
+
+    Role getRole();
+
+    LocalDateTime getCreatedAt();
+}
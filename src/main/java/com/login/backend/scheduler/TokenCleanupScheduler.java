@@ -1,35 +1,142 @@
 package com.login.backend.scheduler;
 
 import com.login.backend.repository.BlacklistedTokenRepository;
-import com.login.backend.service.RefreshTokenService;
+import com.login.backend.repository.RefreshTokenRepository;
+import com.login.backend.repository.RevocationTombstoneRepository;
+import com.login.backend.service.TokenRevocationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
 
+/**
+ * Continuously purges expired and long-revoked tokens in small batches, each in its own
+ * short transaction, instead of one nightly multi-million-row delete.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class TokenCleanupScheduler {
 
-    private final RefreshTokenService refreshTokenService;
+    private static final int BACKLOG_COUNT_CAP = 1_000_000;
+
+    private final RefreshTokenRepository refreshTokenRepository;
     private final BlacklistedTokenRepository blacklistedTokenRepository;
+    private final RevocationTombstoneRepository revocationTombstoneRepository;
+    private final TokenRevocationService tokenRevocationService;
+    private final TransactionTemplate transactionTemplate;
 
-    // Run every day at 2 AM
-    @Scheduled(cron = "0 0 2 * * *")
-    @Transactional
-    public void cleanupExpiredTokens() {
-        log.info("Starting token cleanup job");
+    @Value("${app.token-purge.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${app.token-purge.pause-ms:100}")
+    private long pauseMillis;
+
+    // Upper bound on work per run so a large backlog drains over several runs
+    @Value("${app.token-purge.max-batches-per-run:100}")
+    private int maxBatchesPerRun;
 
-        refreshTokenService.cleanupExpiredTokens();
+    @Value("${app.token-purge.revoked-retention-hours:24}")
+    private long revokedRetentionHours;
 
+    // Partitioned tables retire expired rows by dropping partitions (TokenPartitionManager)
+    @Value("${app.token-partitioning.enabled:false}")
+    private boolean partitioned;
+
+    private final LongAdder refreshTokensPurged = new LongAdder();
+    private final LongAdder blacklistedTokensPurged = new LongAdder();
+    private final AtomicLong lastRunDeleted = new AtomicLong();
+    private final AtomicLong lastRunDurationMillis = new AtomicLong();
+    private final AtomicLong refreshTokenBacklog = new AtomicLong();
+    private final AtomicLong blacklistedTokenBacklog = new AtomicLong();
+
+    @Scheduled(fixedDelayString = "${app.token-purge.interval-ms:300000}",
+            initialDelayString = "${app.token-purge.initial-delay-ms:60000}")
+    public void cleanupExpiredTokens() {
+        long start = System.currentTimeMillis();
         LocalDateTime now = LocalDateTime.now();
-        int deletedBlacklistedTokens = blacklistedTokenRepository.deleteExpiredTokens(now);
-        log.info("Deleted {} expired blacklisted tokens", deletedBlacklistedTokens);
+        LocalDateTime revokedBefore = now.minusHours(revokedRetentionHours);
+
+        int expiredRefresh = partitioned ? 0 : purge("expired refresh tokens",
+                () -> refreshTokenRepository.deleteExpiredBatch(now, batchSize));
+        int revokedRefresh = purge("revoked refresh tokens",
+                () -> refreshTokenRepository.deleteRevokedBatch(revokedBefore, batchSize));
+        int expiredBlacklist = partitioned ? 0 : purge("expired blacklisted tokens",
+                () -> blacklistedTokenRepository.deleteExpiredBatch(now, batchSize));
+        LocalDateTime tombstonesBefore = tokenRevocationService.oldestRelevantEpoch();
+        purge("expired revocation tombstones",
+                () -> revocationTombstoneRepository.deleteExpiredBatch(tombstonesBefore, batchSize));
+
+        refreshTokensPurged.add(expiredRefresh + revokedRefresh);
+        blacklistedTokensPurged.add(expiredBlacklist);
+        lastRunDeleted.set(expiredRefresh + revokedRefresh + expiredBlacklist);
+
+        refreshTokenBacklog.set(refreshTokenRepository.countPurgeBacklog(now, revokedBefore, BACKLOG_COUNT_CAP));
+        blacklistedTokenBacklog.set(blacklistedTokenRepository.countPurgeBacklog(now, BACKLOG_COUNT_CAP));
+        lastRunDurationMillis.set(System.currentTimeMillis() - start);
+
+        if (lastRunDeleted.get() > 0 || refreshTokenBacklog.get() > 0 || blacklistedTokenBacklog.get() > 0) {
+            log.info("Token purge deleted {} expired / {} revoked refresh tokens and {} blacklisted tokens in {} ms " +
+                            "(backlog: {} refresh, {} blacklisted)",
+                    expiredRefresh, revokedRefresh, expiredBlacklist, lastRunDurationMillis.get(),
+                    refreshTokenBacklog.get(), blacklistedTokenBacklog.get());
+        }
+    }
+
+    private int purge(String description, IntSupplier deleteBatch) {
+        int total = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            Integer deleted = transactionTemplate.execute(status -> deleteBatch.getAsInt());
+            total += deleted != null ? deleted : 0;
+            if (deleted == null || deleted < batchSize) {
+                break;
+            }
+            if (!pause()) {
+                break;
+            }
+        }
+        log.debug("Purged {} {}", total, description);
+        return total;
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(pauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public long getRefreshTokensPurged() {
+        return refreshTokensPurged.sum();
+    }
+
+    public long getBlacklistedTokensPurged() {
+        return blacklistedTokensPurged.sum();
+    }
+
+    public long getLastRunDeleted() {
+        return lastRunDeleted.get();
+    }
+
+    public long getLastRunDurationMillis() {
+        return lastRunDurationMillis.get();
+    }
+
+    public long getRefreshTokenBacklog() {
+        return refreshTokenBacklog.get();
+    }
 
-        log.info("Token cleanup job completed");
+    public long getBlacklistedTokenBacklog() {
+        return blacklistedTokenBacklog.get();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,142 @@
+package com.login.backend.scheduler;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+/**
+ * Maintains the range partitions of the token tables when they are created partitioned
+ * (see db/partitioned-schema.sql). Future partitions are created ahead of time and
+ * partitions whose whole range has expired are dropped or detached, so expiry costs a
+ * catalog operation instead of row deletes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.token-partitioning.enabled", havingValue = "true")
+public class TokenPartitionManager {
+
+    private static final List<String> TABLES = List.of("refresh_tokens", "blacklisted_tokens");
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // day or week
+    @Value("${app.token-partitioning.interval:day}")
+    private String interval;
+
+    // Extra periods created beyond the longest token lifetime
+    @Value("${app.token-partitioning.premake-periods:2}")
+    private int premakePeriods;
+
+    // drop or detach
+    @Value("${app.token-partitioning.retire-mode:drop}")
+    private String retireMode;
+
+    @Value("${jwt.refresh-expiration:604800000}")
+    private long refreshTokenExpiration;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintainPartitions();
+    }
+
+    @Scheduled(cron = "${app.token-partitioning.cron:0 15 * * * *}")
+    public void maintainPartitions() {
+        LocalDate today = LocalDate.now();
+        LocalDate horizon = LocalDateTime.now()
+                .plusNanos(refreshTokenExpiration * 1_000_000)
+                .toLocalDate()
+                .plusDays((long) premakePeriods * periodDays());
+
+        for (String table : TABLES) {
+            try {
+                createPartitions(table, periodStart(today), horizon);
+                retirePartitions(table, periodStart(today));
+                purgeDefaultPartition(table);
+            } catch (Exception e) {
+                log.error("Partition maintenance failed for {}: {}", table, e.getMessage());
+            }
+        }
+    }
+
+    private void createPartitions(String table, LocalDate from, LocalDate horizon) {
+        for (LocalDate start = from; !start.isAfter(horizon); start = start.plusDays(periodDays())) {
+            String partition = table + "_p" + start.format(SUFFIX);
+            try {
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partition + " PARTITION OF " + table +
+                        " FOR VALUES FROM ('" + start + "') TO ('" + start.plusDays(periodDays()) + "')");
+            } catch (Exception e) {
+                // Usually rows for this range already landed in the default partition
+                log.warn("Could not create partition {}: {}", partition, e.getMessage());
+            }
+        }
+    }
+
+    private void retirePartitions(String table, LocalDate currentPeriodStart) {
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i " +
+                        "JOIN pg_class c ON c.oid = i.inhrelid " +
+                        "JOIN pg_class p ON p.oid = i.inhparent " +
+                        "WHERE p.relname = ?",
+                String.class, table);
+
+        String prefix = table + "_p";
+        for (String partition : partitions) {
+            if (!partition.startsWith(prefix)) {
+                continue;
+            }
+            LocalDate start;
+            try {
+                start = LocalDate.parse(partition.substring(prefix.length()), SUFFIX);
+            } catch (DateTimeParseException e) {
+                continue;
+            }
+
+            // Every row in a partition that ended before the current period has expired
+            if (start.plusDays(periodDays()).isAfter(currentPeriodStart)) {
+                continue;
+            }
+            if ("detach".equalsIgnoreCase(retireMode)) {
+                jdbcTemplate.execute("ALTER TABLE " + table + " DETACH PARTITION " + partition);
+                log.info("Detached expired partition {}", partition);
+            } else {
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+                log.info("Dropped expired partition {}", partition);
+            }
+        }
+    }
+
+    // Rows only land here when no range partition covered them; normally empty
+    private void purgeDefaultPartition(String table) {
+        int deleted = jdbcTemplate.update(
+                "DELETE FROM " + table + "_default WHERE expiry_date < ?", LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("Purged {} expired rows from {}_default", deleted, table);
+        }
+    }
+
+    private LocalDate periodStart(LocalDate date) {
+        return "week".equalsIgnoreCase(interval)
+                ? date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+                : date;
+    }
+
+    private int periodDays() {
+        return "week".equalsIgnoreCase(interval) ? 7 : 1;
+    }
+}
@@ -0,0 +1,76 @@
+package com.login.backend.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * BCrypt encoder whose cost is picked by benchmarking the current hardware against a
+ * target hashing time. A stored hash at a lower cost reports that it needs an upgrade, so it
+ * is re-encoded on the user's next successful login. Hashes are never downgraded: replicas on
+ * different hardware may calibrate differently, and pinning app.security.bcrypt.strength
+ * gives every node the same cost.
+ */
+@Slf4j
+public class AdaptiveBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private static final int CALIBRATION_STRENGTH = 8;
+    private static final int CALIBRATION_ROUNDS = 5;
+
+    private final int strength;
+
+    public AdaptiveBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    public static AdaptiveBCryptPasswordEncoder calibrated(long targetMillis, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(CALIBRATION_STRENGTH);
+        String sample = "calibration-password";
+
+        // First rounds warm up the JIT; keep the fastest of the rest
+        long bestNanos = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_ROUNDS; i++) {
+            long start = System.nanoTime();
+            probe.encode(sample);
+            long elapsed = System.nanoTime() - start;
+            if (i >= 2) {
+                bestNanos = Math.min(bestNanos, elapsed);
+            }
+        }
+
+        // Every extra cost step doubles the work
+        int strength = CALIBRATION_STRENGTH;
+        double estimatedMillis = bestNanos / 1_000_000.0;
+        while (strength < maxStrength && estimatedMillis * 2 <= targetMillis) {
+            strength++;
+            estimatedMillis *= 2;
+        }
+        while (strength > minStrength && estimatedMillis > targetMillis) {
+            strength--;
+            estimatedMillis /= 2;
+        }
+        strength = Math.max(minStrength, Math.min(maxStrength, strength));
+
+        log.info("BCrypt cost calibrated to {} (~{} ms per hash, target {} ms)",
+                strength, Math.round(bestNanos / 1_000_000.0 * Math.pow(2, strength - CALIBRATION_STRENGTH)), targetMillis);
+        return new AdaptiveBCryptPasswordEncoder(strength);
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$') {
+            return false;
+        }
+        try {
+            // $2a$10$... -> cost is the two digits after the version
+            int storedStrength = Integer.parseInt(encodedPassword.substring(4, 6));
+            return storedStrength < strength;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
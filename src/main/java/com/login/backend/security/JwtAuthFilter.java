@@ -1,6 +1,9 @@
 package com.login.backend.security;
 
+import com.login.backend.cache.VerifiedTokenCache;
+import com.login.backend.metrics.AuthMetrics;
 import com.login.backend.service.TokenBlacklistService;
+import com.login.backend.service.TokenRevocationService;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.security.SignatureException;
@@ -28,11 +31,15 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final TokenBlacklistService tokenBlacklistService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenRevocationService tokenRevocationService;
+    private final AuthMetrics authMetrics;
 
     private static final List<String> PUBLIC_ENDPOINTS = List.of(
             "/api/auth/register",
             "/api/auth/login",
             "/api/auth/refresh",
+            "/api/auth/.well-known/",
             "/api/health"
     );
 
@@ -60,17 +67,26 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         String token = authHeader.substring(7);
 
         try {
-            if (tokenBlacklistService.isTokenBlacklisted(token)) {
+            VerifiedToken verifiedToken = authMetrics.timeJwtVerification(
+                    () -> verifiedTokenCache.getOrVerify(token, jwtUtil::verify));
+
+            if (tokenBlacklistService.isTokenBlacklisted(verifiedToken.tokenId())) {
                 log.warn("Blacklisted token attempted for path: {}", requestPath);
                 response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Token has been revoked");
                 return;
             }
 
-            String username = jwtUtil.extractUsername(token);
-            String role = jwtUtil.extractRole(token);
+            String username = verifiedToken.subject();
+
+            if (tokenRevocationService.isRevoked(username, verifiedToken.issuedAt())) {
+                log.warn("Token issued before revocation epoch for user: {} path: {}", username, requestPath);
+                response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Token has been revoked");
+                return;
+            }
 
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                if (jwtUtil.isTokenValid(token, username)) {
+                if (!verifiedToken.isExpired()) {
+                    String role = verifiedToken.role();
                     String roleWithPrefix = role.startsWith("ROLE_") ? role : "ROLE_" + role;
 
                     UsernamePasswordAuthenticationToken authToken =
@@ -120,7 +136,7 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         return shouldSkip;
     }
 
-    private boolean isPublicEndpoint(String path) {
+    static boolean isPublicEndpoint(String path) {
         return PUBLIC_ENDPOINTS.stream().anyMatch(path::startsWith);
     }
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.login.backend.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "jwt.signing")
+public class JwtKeyProperties {
+
+    // HS256 (shared jwt.secret) or ES256 (asymmetric keys below)
+    private String algorithm = "HS256";
+
+    // kid of the key used to sign new tokens; defaults to the first key with a private part
+    private String activeKeyId;
+
+    // Accept HS256 tokens signed with jwt.secret while migrating to ES256
+    private boolean acceptLegacyHmac = true;
+
+    // Generate a throwaway ES256 key when none is configured; single-node development only,
+    // since every process would sign with a different key
+    private boolean allowEphemeralKey = false;
+
+    // Max-age advertised on the JWKS response
+    private long jwksMaxAgeSeconds = 3600;
+
+    private List<KeyPairProperties> keys = new ArrayList<>();
+
+    @Data
+    public static class KeyPairProperties {
+        private String id;
+        // PKCS#8, PEM or bare base64; leave empty for retired, verify-only keys
+        private String privateKey;
+        // X.509 SubjectPublicKeyInfo, PEM or bare base64
+        private String publicKey;
+    }
+}
@@ -0,0 +1,194 @@
+package com.login.backend.security;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.math.BigInteger;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Holds the keys used to sign and verify JWTs. In HS256 mode this is just the shared
+ * jwt.secret. In ES256 mode one key signs (its kid goes into the token header) and every
+ * configured public key verifies, which is what allows keys to be rotated without
+ * invalidating tokens already in flight. The public keys are published as a JWKS.
+ */
+@Slf4j
+@Component
+public class JwtSigningKeys {
+
+    private final SignatureAlgorithm algorithm;
+    private final Key hmacKey;
+    private final Map<String, PublicKey> verificationKeys;
+    private final String activeKeyId;
+    private final PrivateKey activePrivateKey;
+    private final boolean acceptLegacyHmac;
+
+    public JwtSigningKeys(JwtKeyProperties properties, @Value("${jwt.secret:}") String jwtSecret) {
+        this.algorithm = SignatureAlgorithm.forName(properties.getAlgorithm().toUpperCase());
+        this.hmacKey = jwtSecret != null && jwtSecret.length() >= 32
+                ? Keys.hmacShaKeyFor(jwtSecret.getBytes())
+                : null;
+
+        if (algorithm == SignatureAlgorithm.HS256) {
+            if (hmacKey == null) {
+                throw new IllegalArgumentException("JWT secret must be at least 32 characters");
+            }
+            this.verificationKeys = Map.of();
+            this.activeKeyId = null;
+            this.activePrivateKey = null;
+            this.acceptLegacyHmac = true;
+            return;
+        }
+
+        if (algorithm != SignatureAlgorithm.ES256) {
+            throw new IllegalArgumentException("Unsupported JWT signing algorithm: " + algorithm);
+        }
+
+        Map<String, PublicKey> publicKeys = new LinkedHashMap<>();
+        Map<String, PrivateKey> privateKeys = new LinkedHashMap<>();
+        for (JwtKeyProperties.KeyPairProperties key : properties.getKeys()) {
+            if (key.getId() == null || key.getPublicKey() == null) {
+                throw new IllegalArgumentException("Every jwt.signing.keys entry needs an id and a public-key");
+            }
+            publicKeys.put(key.getId(), decodePublicKey(key.getPublicKey()));
+            if (StringUtils.hasText(key.getPrivateKey())) {
+                privateKeys.put(key.getId(), decodePrivateKey(key.getPrivateKey()));
+            }
+        }
+
+        if (privateKeys.isEmpty()) {
+            // Replicas would each sign with their own key and reject each other's tokens
+            if (!properties.isAllowEphemeralKey()) {
+                throw new IllegalStateException("ES256 needs a jwt.signing.keys entry with a private-key; " +
+                        "set jwt.signing.allow-ephemeral-key=true to generate a throwaway key for local runs");
+            }
+            KeyPair generated = generateKeyPair();
+            String kid = "ephemeral-" + UUID.randomUUID();
+            publicKeys.put(kid, generated.getPublic());
+            privateKeys.put(kid, generated.getPrivate());
+            log.warn("No ES256 signing key configured, generated ephemeral key {}; tokens die with the process", kid);
+        }
+
+        String kid = StringUtils.hasText(properties.getActiveKeyId())
+                ? properties.getActiveKeyId()
+                : privateKeys.keySet().iterator().next();
+        if (!privateKeys.containsKey(kid)) {
+            throw new IllegalArgumentException("Active JWT key " + kid + " has no private key");
+        }
+
+        this.verificationKeys = Collections.unmodifiableMap(publicKeys);
+        this.activeKeyId = kid;
+        this.activePrivateKey = privateKeys.get(kid);
+        this.acceptLegacyHmac = properties.isAcceptLegacyHmac() && hmacKey != null;
+        log.info("JWT signing with ES256 key {} ({} verification keys)", kid, publicKeys.size());
+    }
+
+    public SignatureAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public Key getSigningKey() {
+        return activePrivateKey != null ? activePrivateKey : hmacKey;
+    }
+
+    public String getActiveKeyId() {
+        return activeKeyId;
+    }
+
+    public boolean isAsymmetric() {
+        return activePrivateKey != null;
+    }
+
+    public Key resolveVerificationKey(String headerAlgorithm, String kid) {
+        if (!isAsymmetric()) {
+            return hmacKey;
+        }
+        if (kid == null && acceptLegacyHmac && SignatureAlgorithm.HS256.getValue().equals(headerAlgorithm)) {
+            return hmacKey;
+        }
+        PublicKey key = kid != null ? verificationKeys.get(kid) : null;
+        if (key == null) {
+            throw new SignatureException("Unknown JWT key id: " + kid);
+        }
+        return key;
+    }
+
+    public List<Map<String, Object>> getJsonWebKeys() {
+        List<Map<String, Object>> jwks = new ArrayList<>();
+        verificationKeys.forEach((kid, key) -> {
+            ECPublicKey ecKey = (ECPublicKey) key;
+            Map<String, Object> jwk = new LinkedHashMap<>();
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-256");
+            jwk.put("use", "sig");
+            jwk.put("alg", SignatureAlgorithm.ES256.getValue());
+            jwk.put("kid", kid);
+            jwk.put("x", base64Url(ecKey.getW().getAffineX()));
+            jwk.put("y", base64Url(ecKey.getW().getAffineY()));
+            jwks.add(jwk);
+        });
+        return jwks;
+    }
+
+    private static String base64Url(BigInteger coordinate) {
+        byte[] bytes = coordinate.toByteArray();
+        byte[] fixed = new byte[32];
+        int length = Math.min(bytes.length, 32);
+        System.arraycopy(bytes, bytes.length - length, fixed, 32 - length, length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+    }
+
+    private static PublicKey decodePublicKey(String encoded) {
+        try {
+            return KeyFactory.getInstance("EC").generatePublic(new X509EncodedKeySpec(decodePem(encoded)));
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid EC public key", e);
+        }
+    }
+
+    private static PrivateKey decodePrivateKey(String encoded) {
+        try {
+            return KeyFactory.getInstance("EC").generatePrivate(new PKCS8EncodedKeySpec(decodePem(encoded)));
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid EC private key", e);
+        }
+    }
+
+    private static byte[] decodePem(String encoded) {
+        String base64 = encoded
+                .replaceAll("-----(BEGIN|END) [A-Z ]+-----", "")
+                .replaceAll("\\s", "");
+        return Base64.getDecoder().decode(base64);
+    }
+
+    private static KeyPair generateKeyPair() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+            return generator.generateKeyPair();
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not generate ES256 key pair", e);
+        }
+    }
+}
@@ -1,19 +1,21 @@
 package com.login.backend.security;
 
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Date;
 import java.util.UUID;
 
 @Component
+@RequiredArgsConstructor
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    private final JwtSigningKeys signingKeys;
 
     @Value("${jwt.expiration:1800000}")  // 30 minutes in milliseconds
     private long accessTokenExpiration;
@@ -21,22 +23,38 @@ public class JwtUtil {
     @Value("${jwt.refresh-expiration:259200000}")  // 3 days in milliseconds
     private long refreshTokenExpiration;
 
+    // Built once at startup; JwtParser is immutable and thread-safe
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    void init() {
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return signingKeys.resolveVerificationKey(header.getAlgorithm(), header.getKeyId());
+                    }
+                })
+                .build();
+    }
 
-    private Key getSigningKey() {
-        if (jwtSecret == null || jwtSecret.length() < 32) {
-            throw new IllegalArgumentException("JWT secret must be at least 32 characters");
+    private JwtBuilder signedBuilder() {
+        JwtBuilder builder = Jwts.builder();
+        if (signingKeys.getActiveKeyId() != null) {
+            builder.setHeaderParam(JwsHeader.KEY_ID, signingKeys.getActiveKeyId());
         }
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        return builder;
     }
 
     public String generateAccessToken(String username, String role) {
-        return Jwts.builder()
+        return signedBuilder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(username)
                 .claim("role", role)
                 .claim("type", "access")
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + accessTokenExpiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKeys.getSigningKey(), signingKeys.getAlgorithm())
                 .compact();
     }
 
@@ -46,15 +64,45 @@ public class JwtUtil {
 
     // Alternative: JWT-based refresh token
     public String generateJwtRefreshToken(String username) {
-        return Jwts.builder()
+        return signedBuilder()
                 .setSubject(username)
                 .claim("type", "refresh")
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + refreshTokenExpiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKeys.getSigningKey(), signingKeys.getAlgorithm())
                 .compact();
     }
 
+    /**
+     * Verifies the signature and expiry of the token exactly once and returns its claims.
+     *
+     * @throws JwtException if the token is malformed, expired or not signed by us
+     */
+    public VerifiedToken verify(String token) {
+        Claims claims = extractClaims(token);
+        return new VerifiedToken(
+                tokenIdOf(claims, token),
+                claims.getSubject(),
+                claims.get("role", String.class),
+                claims.get("type", String.class),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null
+        );
+    }
+
+    // Tokens issued before jti was introduced get a stable name-based id derived from the token itself
+    private UUID tokenIdOf(Claims claims, String token) {
+        String jti = claims.getId();
+        if (jti == null) {
+            return UUID.nameUUIDFromBytes(token.getBytes(StandardCharsets.UTF_8));
+        }
+        try {
+            return UUID.fromString(jti);
+        } catch (IllegalArgumentException e) {
+            return UUID.nameUUIDFromBytes(jti.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
     public String extractUsername(String token) {
         return extractClaims(token).getSubject();
     }
@@ -68,20 +116,12 @@ public class JwtUtil {
     }
 
     public boolean isTokenValid(String token, String username) {
-        String extractedUsername = extractUsername(token);
-        return extractedUsername.equals(username) && !isTokenExpired(token);
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractClaims(token).getExpiration().before(new Date());
+        VerifiedToken verifiedToken = verify(token);
+        return verifiedToken.subject().equals(username) && !verifiedToken.isExpired();
     }
 
     public Claims extractClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return jwtParser.parseClaimsJws(token).getBody();
     }
 
     public long getAccessTokenExpiration() {
@@ -91,4 +131,4 @@ public class JwtUtil {
     public long getRefreshTokenExpiration() {
         return refreshTokenExpiration;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,70 @@
+package com.login.backend.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.security.web.SecurityFilterChain;
+
+/**
+ * Actuator endpoints are served on management.server.port, which is meant to be reachable only
+ * from inside the deployment network. Health is open for probes; everything else (metrics,
+ * prometheus) takes HTTP basic with one static scrape credential instead of a user JWT.
+ */
+@Slf4j
+@Configuration
+public class ManagementSecurityConfig {
+
+    @Value("${app.management.username:metrics}")
+    private String username;
+
+    // Blank = no credential configured: only health is served
+    @Value("${app.management.password:}")
+    private String password;
+
+    @Bean
+    @Order(1)
+    public SecurityFilterChain managementFilterChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher(EndpointRequest.toAnyEndpoint())
+                .csrf(AbstractHttpConfigurer::disable)
+                .sessionManagement(session ->
+                        session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .authorizeHttpRequests(auth -> {
+                    auth.requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll();
+                    if (password.isBlank()) {
+                        log.warn("app.management.password is not set; actuator endpoints other than health are disabled");
+                        auth.anyRequest().denyAll();
+                    } else {
+                        auth.anyRequest().authenticated();
+                    }
+                })
+                .httpBasic(Customizer.withDefaults())
+                .authenticationManager(scrapeAuthenticationManager());
+
+        return http.build();
+    }
+
+    // Not a bean: the credential must not become a login for the main API
+    private ProviderManager scrapeAuthenticationManager() {
+        InMemoryUserDetailsManager users = new InMemoryUserDetailsManager(User.withUsername(username)
+                .password("{noop}" + password)
+                .roles("METRICS")
+                .build());
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(users);
+        provider.setPasswordEncoder(PasswordEncoderFactories.createDelegatingPasswordEncoder());
+        return new ProviderManager(provider);
+    }
+}
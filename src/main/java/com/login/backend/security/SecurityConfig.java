@@ -1,5 +1,6 @@
 package com.login.backend.security;
 
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
@@ -12,7 +13,7 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.SecurityFilterChain;
@@ -23,6 +24,7 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 
 @Configuration
 @EnableWebSecurity
@@ -35,9 +37,41 @@ public class SecurityConfig {
     @Value("${app.cors.allowed-origins:http://localhost:3000}")
     private List<String> allowedOrigins;
 
+    // 0 = benchmark at startup and pick the cost closest to target-millis
+    @Value("${app.security.bcrypt.strength:0}")
+    private int bcryptStrength;
+
+    @Value("${app.security.bcrypt.target-millis:50}")
+    private long bcryptTargetMillis;
+
+    @Value("${app.security.bcrypt.min-strength:10}")
+    private int bcryptMinStrength;
+
+    @Value("${app.security.bcrypt.max-strength:14}")
+    private int bcryptMaxStrength;
+
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        AdaptiveBCryptPasswordEncoder bcrypt = bcryptStrength > 0
+                ? new AdaptiveBCryptPasswordEncoder(bcryptStrength)
+                : AdaptiveBCryptPasswordEncoder.calibrated(bcryptTargetMillis, bcryptMinStrength, bcryptMaxStrength);
+        return delegatingPasswordEncoder(bcrypt);
+    }
+
+    static PasswordEncoder delegatingPasswordEncoder(AdaptiveBCryptPasswordEncoder bcrypt) {
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt)) {
+            // Upstream upgrades every hash without an {id} prefix; ours are plain bcrypt, so judge them by cost
+            @Override
+            public boolean upgradeEncoding(String prefixEncodedPassword) {
+                if (prefixEncodedPassword != null && !prefixEncodedPassword.startsWith("{")) {
+                    return bcrypt.upgradeEncoding(prefixEncodedPassword);
+                }
+                return super.upgradeEncoding(prefixEncodedPassword);
+            }
+        };
+        // Hashes stored before the {id} prefix existed are plain bcrypt
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
     }
 
     @Bean
@@ -47,7 +81,11 @@ public class SecurityConfig {
                 .sessionManagement(session ->
                         session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/api/auth/register", "/api/auth/login", "/api/auth/refresh", "/api/health").permitAll()
+                        // The request was authorized before it went async (streamed exports) or failed; the
+                        // JWT filter does not run again for the dispatch that completes it or renders the error
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
+                        .requestMatchers("/api/auth/register", "/api/auth/login", "/api/auth/refresh", "/api/health", "/api/health/**").permitAll()
+                        .requestMatchers("/api/auth/.well-known/**").permitAll()
                         .requestMatchers("/api/auth/logout", "/api/auth/logout-all", "/api/auth/sessions", "/api/auth/sessions/**").authenticated()
                         .requestMatchers("/api/users/**").authenticated()
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
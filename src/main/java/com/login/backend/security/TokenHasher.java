@@ -0,0 +1,38 @@
+package com.login.backend.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+public final class TokenHasher {
+
+    private static final MessageDigest SHA_256_PROTOTYPE;
+
+    static {
+        try {
+            SHA_256_PROTOTYPE = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private TokenHasher() {
+    }
+
+    public static byte[] sha256(String token) {
+        return newDigest().digest(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // MessageDigest is not thread-safe; cloning the prototype skips the provider lookup
+    private static MessageDigest newDigest() {
+        try {
+            return (MessageDigest) SHA_256_PROTOTYPE.clone();
+        } catch (CloneNotSupportedException e) {
+            try {
+                return MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException ex) {
+                throw new IllegalStateException("SHA-256 is not available", ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.login.backend.security;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Claims of an access token whose signature and expiry have already been checked.
+ */
+public record VerifiedToken(
+        UUID tokenId,
+        String subject,
+        String role,
+        String type,
+        Instant issuedAt,
+        Instant expiresAt
+) {
+
+    public boolean isExpired() {
+        return expiresAt != null && !expiresAt.isAfter(Instant.now());
+    }
+}
@@ -0,0 +1,105 @@
+package com.login.backend.service;
+
+import com.login.backend.dto.BulkUserRequest;
+import com.login.backend.dto.BulkUserResult;
+import com.login.backend.repository.RefreshTokenRepository;
+import com.login.backend.repository.UserRepository;
+import com.login.backend.repository.projection.UserIdentity;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Incident tooling: force-logout or delete many users at once. Targets are resolved and handled
+ * in chunks of set-based statements, each chunk in its own transaction, so the number of round
+ * trips grows with the chunk count rather than with the number of users and no transaction or
+ * target list grows with the size of a role.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AdminUserService {
+
+    // Keeps IN lists well below the bind parameter limit
+    private static final int CHUNK_SIZE = 1000;
+
+    private final UserRepository userRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenRevocationService tokenRevocationService;
+    private final UserService userService;
+    private final TransactionTemplate transactionTemplate;
+
+    public BulkUserResult forceLogout(BulkUserRequest request, String actingAdmin) {
+        return apply(request, actingAdmin, false);
+    }
+
+    public BulkUserResult deleteUsers(BulkUserRequest request, String actingAdmin) {
+        return apply(request, actingAdmin, true);
+    }
+
+    private BulkUserResult apply(BulkUserRequest request, String actingAdmin, boolean delete) {
+        BulkUserResult result = new BulkUserResult();
+
+        if (request.getRole() != null) {
+            Long afterId = 0L;
+            List<UserIdentity> page;
+            do {
+                page = userRepository.findIdentitiesByRoleAndIdGreaterThanOrderByIdAsc(
+                        request.getRole(), afterId, Limit.of(CHUNK_SIZE));
+                if (!page.isEmpty()) {
+                    afterId = page.get(page.size() - 1).getId();
+                    applyChunk(page, actingAdmin, delete, result);
+                }
+            } while (page.size() == CHUNK_SIZE);
+        } else {
+            List<Long> ids = List.copyOf(new LinkedHashSet<>(request.getIds()));
+            for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+                List<Long> chunk = ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size()));
+                applyChunk(userRepository.findIdentitiesByIdIn(chunk), actingAdmin, delete, result);
+            }
+        }
+
+        log.warn("Bulk {} by {}: {} users matched, {} refresh tokens revoked, {} users deleted",
+                delete ? "delete" : "logout", actingAdmin, result.getMatchedUsers(),
+                result.getRefreshTokensRevoked(), result.getUsersDeleted());
+        return result;
+    }
+
+    // A failure leaves the earlier chunks committed; the operation is safe to repeat
+    private void applyChunk(List<UserIdentity> matched, String actingAdmin, boolean delete, BulkUserResult result) {
+        List<UserIdentity> targets = matched.stream()
+                .filter(user -> !user.getUsername().equals(actingAdmin))
+                .toList();
+        result.setMatchedUsers(result.getMatchedUsers() + targets.size());
+        result.setSkippedUsers(result.getSkippedUsers() + matched.size() - targets.size());
+        if (targets.isEmpty()) {
+            return;
+        }
+
+        List<Long> ids = targets.stream().map(UserIdentity::getId).toList();
+        List<String> usernames = targets.stream().map(UserIdentity::getUsername).toList();
+        LocalDateTime now = LocalDateTime.now();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            result.setRefreshTokensRevoked(
+                    result.getRefreshTokensRevoked() + refreshTokenRepository.revokeAllForUsers(ids, now));
+            if (delete) {
+                // The epoch outlives the deleted rows as a tombstone
+                result.setUsersRevoked(result.getUsersRevoked()
+                        + tokenRevocationService.revokeAllAccessTokensOfDeletedUsers(ids, usernames));
+                refreshTokenRepository.deleteAllForUsers(ids);
+                result.setUsersDeleted(result.getUsersDeleted() + userRepository.deleteAllByIds(ids));
+            } else {
+                result.setUsersRevoked(result.getUsersRevoked()
+                        + tokenRevocationService.revokeAllAccessTokens(ids, usernames));
+            }
+            userService.usersChanged(targets);
+        });
+    }
+}
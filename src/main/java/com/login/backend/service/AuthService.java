@@ -6,10 +6,13 @@ import com.login.backend.dto.RegisterRequest;
 import com.login.backend.dto.RefreshTokenRequest;
 import com.login.backend.exception.InvalidCredentialsException;
 import com.login.backend.exception.UserAlreadyExistsException;
+import com.login.backend.metrics.AuthMetrics;
+import com.login.backend.model.LoginEventType;
 import com.login.backend.model.RefreshToken;
 import com.login.backend.model.Role;
 import com.login.backend.model.User;
 import com.login.backend.repository.UserRepository;
+import com.login.backend.repository.projection.RefreshTokenDetails;
 import com.login.backend.security.JwtUtil;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
@@ -18,6 +21,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -28,6 +33,10 @@ public class AuthService {
     private final JwtUtil jwtUtil;
     private final RefreshTokenService refreshTokenService;
     private final TokenBlacklistService tokenBlacklistService;
+    private final TokenRevocationService tokenRevocationService;
+    private final UserService userService;
+    private final LoginAuditService loginAuditService;
+    private final AuthMetrics authMetrics;
 
     @Transactional
     public User register(RegisterRequest request) {
@@ -56,25 +65,40 @@ public class AuthService {
 
     @Transactional
     public AuthResponse login(LoginRequest request, HttpServletRequest httpRequest) {
-        log.info("Login attempt for user: {}", request.getUsername());
+        log.debug("Login attempt for user: {}", request.getUsername());
+
+        String ipAddress = getClientIpAddress(httpRequest);
+        String userAgent = httpRequest.getHeader("User-Agent");
 
-        User user = userRepository.findByUsername(request.getUsername())
-                .orElseThrow(() -> new InvalidCredentialsException("Invalid username or password"));
+        User user = userService.lookupByUsername(request.getUsername())
+                .orElseThrow(() -> {
+                    authMetrics.loginFailed();
+                    loginAuditService.record(LoginEventType.LOGIN_FAILURE, request.getUsername(), ipAddress, userAgent);
+                    return new InvalidCredentialsException("Invalid username or password");
+                });
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (!authMetrics.timePasswordMatches(() -> passwordEncoder.matches(request.getPassword(), user.getPassword()))) {
+            authMetrics.loginFailed();
+            loginAuditService.record(LoginEventType.LOGIN_FAILURE, user.getUsername(), ipAddress, userAgent);
             throw new InvalidCredentialsException("Invalid username or password");
         }
 
-        String ipAddress = getClientIpAddress(httpRequest);
-        String userAgent = httpRequest.getHeader("User-Agent");
+        // user may be a cached copy, so write only the hash instead of merging the whole entity
+        if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+            String upgradedHash = passwordEncoder.encode(request.getPassword());
+            if (userRepository.upgradePasswordHash(user.getId(), user.getPassword(), upgradedHash, LocalDateTime.now()) > 0) {
+                userService.userChanged(user);
+                log.info("Password hash upgraded for user: {}", user.getUsername());
+            }
+        }
 
         // Generate new tokens (supports multiple devices)
         String accessToken = jwtUtil.generateAccessToken(user.getUsername(), user.getRole().name());
         RefreshToken refreshToken = refreshTokenService.createRefreshToken(user, ipAddress, userAgent);
 
-        long activeTokenCount = refreshTokenService.countUserActiveTokens(user);
-        log.info("User logged in successfully: {} from IP: {} (active devices: {})",
-                user.getUsername(), ipAddress, activeTokenCount);
+        authMetrics.loginSucceeded();
+        loginAuditService.record(LoginEventType.LOGIN_SUCCESS, user.getUsername(), ipAddress, userAgent);
+        log.debug("User logged in successfully: {}", user.getUsername());
 
         return AuthResponse.builder()
                 .accessToken(accessToken)
@@ -85,9 +109,12 @@ public class AuthService {
                 .build();
     }
 
-    @Transactional
-    public void logout(String accessToken, String refreshTokenString) {
+    // No transaction: both writes go through the write-behind queue
+    public void logout(String accessToken, String refreshTokenString, String username, HttpServletRequest httpRequest) {
         tokenBlacklistService.blacklistToken(accessToken);
+        authMetrics.loggedOut();
+        loginAuditService.record(LoginEventType.LOGOUT, username,
+                getClientIpAddress(httpRequest), httpRequest.getHeader("User-Agent"));
 
         if (refreshTokenString != null && !refreshTokenString.isEmpty()) {
             refreshTokenService.revokeRefreshToken(refreshTokenString);
@@ -97,33 +124,39 @@ public class AuthService {
         }
     }
 
-    @Transactional
-    public AuthResponse refreshToken(RefreshTokenRequest request) {
-        log.info("Refresh token request received");
+    public AuthResponse refreshToken(RefreshTokenRequest request, HttpServletRequest httpRequest) {
+        log.debug("Refresh token request received");
 
-        RefreshToken refreshToken = refreshTokenService.verifyRefreshToken(request.getRefreshToken());
-        User user = refreshToken.getUser();
+        RefreshTokenDetails refreshToken = refreshTokenService.verifyRefreshToken(request.getRefreshToken());
 
-        String newAccessToken = jwtUtil.generateAccessToken(user.getUsername(), user.getRole().name());
+        String newAccessToken = jwtUtil.generateAccessToken(refreshToken.getUsername(), refreshToken.getRole().name());
 
-        log.info("Access token refreshed for user: {}", user.getUsername());
+        authMetrics.refreshed();
+        loginAuditService.record(LoginEventType.REFRESH, refreshToken.getUsername(),
+                getClientIpAddress(httpRequest), httpRequest.getHeader("User-Agent"));
+        log.debug("Access token refreshed for user: {}", refreshToken.getUsername());
 
         // Return the SAME refresh token (don't create a new one)
         return AuthResponse.builder()
                 .accessToken(newAccessToken)
-                .refreshToken(refreshToken.getToken())
-                .username(user.getUsername())
-                .role(user.getRole().name())
+                .refreshToken(request.getRefreshToken())
+                .username(refreshToken.getUsername())
+                .role(refreshToken.getRole().name())
                 .expiresIn(jwtUtil.getAccessTokenExpiration())
                 .build();
     }
 
     @Transactional
-    public void logoutAllDevices(String username) {
-        User user = userRepository.findByUsername(username)
+    public void logoutAllDevices(String username, HttpServletRequest httpRequest) {
+        User user = userService.lookupByUsername(username)
                 .orElseThrow(() -> new InvalidCredentialsException("User not found"));
 
         refreshTokenService.revokeAllUserTokens(user.getId());
+        // user may be a cached copy, so bump the epoch with an UPDATE rather than through the entity
+        tokenRevocationService.revokeAllAccessTokens(username);
+        userService.userChanged(user);
+        loginAuditService.record(LoginEventType.LOGOUT_ALL, username,
+                getClientIpAddress(httpRequest), httpRequest.getHeader("User-Agent"));
         log.info("All sessions logged out for user: {}", username);
     }
 
@@ -0,0 +1,190 @@
+package com.login.backend.service;
+
+import com.login.backend.config.DatabaseBulkhead;
+import com.login.backend.security.JwtUtil;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Computes application health on a fixed interval so that probes are answered from memory
+ * and never touch the database themselves. The user count is the planner's estimate from
+ * pg_class.reltuples rather than a COUNT(*) over the whole table.
+ */
+@Slf4j
+@Service
+public class HealthSnapshotService {
+
+    private static final String USER_ESTIMATE_SQL =
+            "SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass('users')";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final HikariPoolSource hikariPool;
+    private final ObjectProvider<DatabaseBulkhead> databaseBulkhead;
+    private final JwtUtil jwtUtil;
+
+    @Value("${app.health.refresh-interval-ms:5000}")
+    private long refreshIntervalMillis;
+
+    // More callers than this queued for a connection and we stop taking traffic
+    @Value("${app.health.max-waiting-threads:20}")
+    private int maxWaitingThreads;
+
+    private volatile HealthSnapshot snapshot = HealthSnapshot.initial();
+
+    public HealthSnapshotService(DataSource dataSource,
+                                 ObjectProvider<DatabaseBulkhead> databaseBulkhead,
+                                 JwtUtil jwtUtil,
+                                 @Value("${app.health.query-timeout-seconds:2}") int queryTimeoutSeconds) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setQueryTimeout(queryTimeoutSeconds);
+        this.hikariPool = new HikariPoolSource(dataSource);
+        this.databaseBulkhead = databaseBulkhead;
+        this.jwtUtil = jwtUtil;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void refreshOnStartup() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${app.health.refresh-interval-ms:5000}",
+            initialDelayString = "${app.health.refresh-interval-ms:5000}")
+    public void refresh() {
+        boolean databaseUp;
+        String databaseError = null;
+        Long userEstimate = null;
+        try {
+            jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+            databaseUp = true;
+            Long reltuples = jdbcTemplate.queryForObject(USER_ESTIMATE_SQL, Long.class);
+            // -1 (or 0 on older Postgres) until the table has been vacuumed or analyzed
+            userEstimate = reltuples != null && reltuples >= 0 ? reltuples : null;
+        } catch (Exception e) {
+            databaseUp = false;
+            databaseError = e.getMessage();
+            log.warn("Health check: database unavailable - {}", e.getMessage());
+        }
+
+        PoolStats pool = poolStats();
+        boolean keysAvailable = signingKeysAvailable();
+
+        snapshot = new HealthSnapshot(
+                databaseUp,
+                databaseError,
+                userEstimate,
+                pool,
+                pool.waitingThreads() > maxWaitingThreads,
+                keysAvailable,
+                Instant.now());
+    }
+
+    public HealthSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    // A snapshot the refresher has not renewed for several intervals is no longer trustworthy
+    public boolean isReady() {
+        HealthSnapshot current = snapshot;
+        boolean fresh = current.refreshedAt() != null
+                && Duration.between(current.refreshedAt(), Instant.now()).toMillis() < refreshIntervalMillis * 3;
+        return fresh && current.isUp() && !current.poolSaturated();
+    }
+
+    private PoolStats poolStats() {
+        DatabaseBulkhead bulkhead = databaseBulkhead.getIfAvailable();
+        int bulkheadQueue = bulkhead != null ? bulkhead.getQueueLength() : 0;
+
+        HikariPoolMXBean pool = hikariPool.get();
+        if (pool == null) {
+            return new PoolStats(0, 0, 0, hikariPool.maximumPoolSize(), 0, bulkheadQueue);
+        }
+        return new PoolStats(
+                pool.getActiveConnections(),
+                pool.getIdleConnections(),
+                pool.getTotalConnections(),
+                hikariPool.maximumPoolSize(),
+                pool.getThreadsAwaitingConnection(),
+                bulkheadQueue);
+    }
+
+    // Signs and verifies a throwaway token, which proves the active key and its verifier are usable
+    private boolean signingKeysAvailable() {
+        try {
+            jwtUtil.verify(jwtUtil.generateAccessToken("health-check", "USER"));
+            return true;
+        } catch (Exception e) {
+            log.warn("Health check: JWT signing keys unavailable - {}", e.getMessage());
+            return false;
+        }
+    }
+
+    public record PoolStats(int active, int idle, int total, int max, int awaitingConnection, int bulkheadQueue) {
+
+        public int waitingThreads() {
+            return awaitingConnection + bulkheadQueue;
+        }
+
+        public double utilization() {
+            return max > 0 ? (double) active / max : 0;
+        }
+    }
+
+    public record HealthSnapshot(
+            boolean databaseUp,
+            String databaseError,
+            Long userEstimate,
+            PoolStats pool,
+            boolean poolSaturated,
+            boolean keysAvailable,
+            Instant refreshedAt
+    ) {
+
+        static HealthSnapshot initial() {
+            return new HealthSnapshot(false, "Health not checked yet", null,
+                    new PoolStats(0, 0, 0, 0, 0, 0), false, false, null);
+        }
+
+        public boolean isUp() {
+            return databaseUp && keysAvailable;
+        }
+    }
+
+    // The pool sits behind the bulkhead wrapper, so resolve it through unwrap; its MXBean only exists once started
+    private static final class HikariPoolSource {
+
+        private final HikariDataSource hikari;
+
+        HikariPoolSource(DataSource dataSource) {
+            HikariDataSource resolved = null;
+            try {
+                if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                    resolved = dataSource.unwrap(HikariDataSource.class);
+                }
+            } catch (SQLException e) {
+                log.debug("DataSource is not backed by Hikari: {}", e.getMessage());
+            }
+            this.hikari = resolved;
+        }
+
+        HikariPoolMXBean get() {
+            return hikari != null ? hikari.getHikariPoolMXBean() : null;
+        }
+
+        int maximumPoolSize() {
+            return hikari != null ? hikari.getMaximumPoolSize() : 0;
+        }
+    }
+}
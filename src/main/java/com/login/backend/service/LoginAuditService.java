@@ -0,0 +1,213 @@
+package com.login.backend.service;
+
+import com.login.backend.dto.LoginEventPageResponse;
+import com.login.backend.model.LoginEvent;
+import com.login.backend.model.LoginEventType;
+import com.login.backend.repository.LoginEventRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Login/refresh/logout history. Request threads only put an event into a bounded in-memory
+ * buffer; a background flush writes the buffer to login_events in JDBC batches. When the
+ * buffer is full the overflow policy decides between dropping the event (DROP) and making the
+ * caller wait up to block-timeout-ms for room (BLOCK, dropping only after the wait).
+ */
+@Slf4j
+@Service
+public class LoginAuditService {
+
+    private static final String INSERT_LOGIN_EVENT =
+            "INSERT INTO login_events (id, event_type, username, ip_address, user_agent, device_name, occurred_at) " +
+            "VALUES (nextval('login_events_id_seq'), ?, ?, ?, ?, ?, ?)";
+
+    public enum OverflowPolicy {
+        DROP,
+        BLOCK
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LoginEventRepository loginEventRepository;
+    private final boolean enabled;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutMillis;
+    private final int batchSize;
+
+    private final BlockingQueue<PendingEvent> buffer;
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+
+    @Value("${app.login-audit.page.max-limit:200}")
+    private int maxPageLimit;
+
+    public LoginAuditService(JdbcTemplate jdbcTemplate,
+                             TransactionTemplate transactionTemplate,
+                             LoginEventRepository loginEventRepository,
+                             @Value("${app.login-audit.enabled:true}") boolean enabled,
+                             @Value("${app.login-audit.capacity:10000}") int capacity,
+                             @Value("${app.login-audit.overflow-policy:DROP}") OverflowPolicy overflowPolicy,
+                             @Value("${app.login-audit.block-timeout-ms:50}") long blockTimeoutMillis,
+                             @Value("${app.login-audit.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.loginEventRepository = loginEventRepository;
+        this.enabled = enabled;
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutMillis = blockTimeoutMillis;
+        this.batchSize = batchSize;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+    }
+
+    public void record(LoginEventType eventType, String username, String ipAddress, String userAgent) {
+        if (!enabled || username == null) {
+            return;
+        }
+        PendingEvent event = new PendingEvent(
+                eventType,
+                truncate(username, 50),
+                truncate(ipAddress, 45),
+                truncate(userAgent, 500),
+                RefreshTokenService.extractDeviceName(userAgent),
+                LocalDateTime.now());
+
+        if (enqueue(event)) {
+            recorded.increment();
+        } else {
+            dropped.increment();
+            log.debug("Login audit buffer full, dropped {} event for {}", eventType, username);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public LoginEventPageResponse getEvents(String username, LoginEventType eventType, Long cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, maxPageLimit));
+        long before = cursor != null ? cursor : Long.MAX_VALUE;
+        Limit fetch = Limit.of(pageSize + 1);
+
+        List<LoginEvent> rows;
+        if (username != null && eventType != null) {
+            rows = loginEventRepository.findByUsernameAndEventTypeAndIdLessThanOrderByIdDesc(
+                    username, eventType, before, fetch);
+        } else if (username != null) {
+            rows = loginEventRepository.findByUsernameAndIdLessThanOrderByIdDesc(username, before, fetch);
+        } else if (eventType != null) {
+            rows = loginEventRepository.findByEventTypeAndIdLessThanOrderByIdDesc(eventType, before, fetch);
+        } else {
+            rows = loginEventRepository.findByIdLessThanOrderByIdDesc(before, fetch);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<LoginEvent> page = hasMore ? rows.subList(0, pageSize) : rows;
+        return LoginEventPageResponse.builder()
+                .events(page)
+                .nextCursor(hasMore ? page.get(page.size() - 1).getId() : null)
+                .limit(pageSize)
+                .build();
+    }
+
+    public int getPendingCount() {
+        return buffer.size();
+    }
+
+    public long getRecordedCount() {
+        return recorded.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+    @Scheduled(fixedDelayString = "${app.login-audit.flush-interval-ms:500}")
+    public void flush() {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            List<PendingEvent> batch = new ArrayList<>(Math.min(batchSize, 64));
+            while (buffer.drainTo(batch, batchSize) > 0) {
+                List<Object[]> rows = batch.stream()
+                        .map(event -> new Object[]{
+                                event.eventType().name(),
+                                event.username(),
+                                event.ipAddress(),
+                                event.userAgent(),
+                                event.deviceName(),
+                                Timestamp.valueOf(event.occurredAt())
+                        })
+                        .toList();
+                try {
+                    transactionTemplate.executeWithoutResult(status ->
+                            jdbcTemplate.batchUpdate(INSERT_LOGIN_EVENT, rows));
+                    written.add(batch.size());
+                    log.debug("Flushed {} login events", batch.size());
+                } catch (Exception e) {
+                    log.error("Failed to flush {} login events, will retry: {}", batch.size(), e.getMessage());
+                    // Put them back without blocking; whatever no longer fits is lost
+                    for (PendingEvent event : batch) {
+                        if (!buffer.offer(event)) {
+                            dropped.increment();
+                        }
+                    }
+                    return;
+                }
+                batch.clear();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+        if (!buffer.isEmpty()) {
+            log.warn("{} login events still pending at shutdown", buffer.size());
+        }
+    }
+
+    private boolean enqueue(PendingEvent event) {
+        if (overflowPolicy == OverflowPolicy.DROP) {
+            return buffer.offer(event);
+        }
+        try {
+            return buffer.offer(event, blockTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+
+    private record PendingEvent(LoginEventType eventType, String username, String ipAddress, String userAgent,
+                                String deviceName, LocalDateTime occurredAt) {
+    }
+}
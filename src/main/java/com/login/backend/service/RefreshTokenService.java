@@ -1,10 +1,18 @@
 package com.login.backend.service;
 
+import com.login.backend.cluster.InvalidationBus;
+import com.login.backend.exception.SessionNotFoundException;
 import com.login.backend.exception.TokenException;
+import com.login.backend.metrics.AuthMetrics;
 import com.login.backend.model.RefreshToken;
 import com.login.backend.model.User;
 import com.login.backend.repository.RefreshTokenRepository;
+import com.login.backend.repository.projection.ActiveSession;
+import com.login.backend.repository.projection.RefreshTokenDetails;
+import com.login.backend.repository.projection.SessionCapResult;
 import com.login.backend.security.JwtUtil;
+import com.login.backend.security.TokenHasher;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -12,6 +20,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
 
 @Slf4j
@@ -21,29 +30,31 @@ public class RefreshTokenService {
 
     private final RefreshTokenRepository refreshTokenRepository;
     private final JwtUtil jwtUtil;
+    private final TokenWriteBehindService writeBehindService;
+    private final InvalidationBus invalidationBus;
+    private final AuthMetrics authMetrics;
+
+    private static final String REFRESH_REVOKED_EVENT = "refresh-revoked";
 
     @Value("${app.max-refresh-tokens-per-user:5}")
     private int maxTokensPerUser;
 
+    @PostConstruct
+    public void init() {
+        invalidationBus.subscribe(REFRESH_REVOKED_EVENT,
+                payload -> writeBehindService.markRemoteRevocation(Base64.getDecoder().decode(payload)));
+    }
+
     @Transactional
     public RefreshToken createRefreshToken(User user, String ipAddress, String userAgent) {
-        log.debug("Creating refresh token for user: {} from IP: {}", user.getUsername(), ipAddress);
-
-        List<RefreshToken> activeTokens = refreshTokenRepository.findByUserAndRevokedFalse(user);
-
-        if (activeTokens.size() >= maxTokensPerUser) {
-            log.info("User {} has {} active tokens, revoking oldest",
-                    user.getUsername(), activeTokens.size());
-
-            activeTokens.stream()
-                    .sorted((t1, t2) -> t1.getCreatedAt().compareTo(t2.getCreatedAt()))
-                    .limit(activeTokens.size() - maxTokensPerUser + 1)
-                    .forEach(token -> {
-                        token.setRevoked(true);
-                        refreshTokenRepository.save(token);
-                        log.debug("Revoked old token: {} from device: {}",
-                                token.getId(), token.getDeviceName());
-                    });
+
+        // Make room for the new session: keep only the newest (max - 1) active ones
+        SessionCapResult sessionCap = authMetrics.timeRefreshTokenOperation("enforce_session_cap",
+                () -> refreshTokenRepository.enforceSessionCap(user.getId(), maxTokensPerUser - 1, LocalDateTime.now()));
+        if (sessionCap.getEvicted() > 0) {
+            authMetrics.sessionsEvicted(sessionCap.getEvicted());
+            log.info("User {} reached {} active tokens, revoked {} oldest",
+                    user.getUsername(), maxTokensPerUser, sessionCap.getEvicted());
         }
 
         String tokenString = jwtUtil.generateRefreshToken();
@@ -51,7 +62,7 @@ public class RefreshTokenService {
         LocalDateTime expiryDate = LocalDateTime.now().plusSeconds(expirationMs / 1000);
 
         RefreshToken refreshToken = RefreshToken.builder()
-                .token(tokenString)
+                .tokenHash(TokenHasher.sha256(tokenString))
                 .user(user)
                 .expiryDate(expiryDate)
                 .revoked(false)
@@ -60,68 +71,73 @@ public class RefreshTokenService {
                 .deviceName(extractDeviceName(userAgent))
                 .build();
 
-        RefreshToken saved = refreshTokenRepository.save(refreshToken);
-        log.info("Created refresh token for user: {} from {} (total active: {})",
-                user.getUsername(), saved.getDeviceName(), activeTokens.size() + 1);
+        RefreshToken saved = authMetrics.timeRefreshTokenOperation("insert",
+                () -> refreshTokenRepository.save(refreshToken));
+        saved.setToken(tokenString);
+        log.debug("Created refresh token for user: {} from {} (total active: {})",
+                user.getUsername(), saved.getDeviceName(), sessionCap.getRemaining() + 1);
 
         return saved;
     }
 
-    @Transactional(readOnly = true)
-    public RefreshToken verifyRefreshToken(String token) {
-        RefreshToken refreshToken = refreshTokenRepository.findByToken(token)
+    // Single round trip: token state and owner come back together as a projection
+    public RefreshTokenDetails verifyRefreshToken(String token) {
+        byte[] tokenHash = TokenHasher.sha256(token);
+        RefreshTokenDetails refreshToken = authMetrics.timeRefreshTokenOperation("lookup",
+                        () -> refreshTokenRepository.findDetailsByTokenHash(tokenHash))
                 .orElseThrow(() -> new TokenException("Refresh token not found"));
 
-        if (refreshToken.isRevoked()) {
+        if (refreshToken.isRevoked() || writeBehindService.isRevocationPending(tokenHash)) {
             log.warn("Attempted to use revoked refresh token for user: {} from device: {}",
-                    refreshToken.getUser().getUsername(), refreshToken.getDeviceName());
+                    refreshToken.getUsername(), refreshToken.getDeviceName());
             throw new TokenException("Refresh token has been revoked");
         }
 
-        if (refreshToken.isExpired()) {
+        if (LocalDateTime.now().isAfter(refreshToken.getExpiryDate())) {
             log.warn("Attempted to use expired refresh token for user: {} from device: {}",
-                    refreshToken.getUser().getUsername(), refreshToken.getDeviceName());
+                    refreshToken.getUsername(), refreshToken.getDeviceName());
             throw new TokenException("Refresh token has expired");
         }
 
         return refreshToken;
     }
 
-    @Transactional
+    // Takes effect for verifyRefreshToken at once; the UPDATE is batched by the write-behind flush
     public void revokeRefreshToken(String token) {
-        refreshTokenRepository.findByToken(token)
-                .ifPresent(refreshToken -> {
-                    refreshToken.setRevoked(true);
-                    refreshTokenRepository.save(refreshToken);
-                    log.info("Refresh token revoked for user: {} from device: {}",
-                            refreshToken.getUser().getUsername(), refreshToken.getDeviceName());
-                });
+        queueRevocation(TokenHasher.sha256(token));
+        log.info("Refresh token revocation queued");
+    }
+
+    private void queueRevocation(byte[] tokenHash) {
+        writeBehindService.enqueueRefreshTokenRevocation(tokenHash);
+        invalidationBus.publish(REFRESH_REVOKED_EVENT, Base64.getEncoder().encodeToString(tokenHash));
     }
 
     @Transactional
     public void revokeAllUserTokens(Long userId) {
-        int revokedCount = refreshTokenRepository.revokeAllUserTokens(userId);
+        int revokedCount = authMetrics.timeRefreshTokenOperation("revoke_all",
+                () -> refreshTokenRepository.revokeAllUserTokens(userId, LocalDateTime.now()));
         log.info("Revoked {} refresh tokens for user ID: {}", revokedCount, userId);
     }
 
-    @Transactional(readOnly = true)
-    public List<RefreshToken> getUserActiveTokens(User user) {
-        return refreshTokenRepository.findByUserAndRevokedFalse(user);
+    // Revoked synchronously: refresh requests read the revoked flag straight from the table
+    @Transactional
+    public void revokeSession(Long sessionId, String username) {
+        int revoked = authMetrics.timeRefreshTokenOperation("revoke_session",
+                () -> refreshTokenRepository.revokeSession(sessionId, username, LocalDateTime.now()));
+        if (revoked == 0) {
+            throw new SessionNotFoundException("Session not found: " + sessionId);
+        }
+        log.info("Session {} revoked for user: {}", sessionId, username);
     }
 
     @Transactional(readOnly = true)
-    public long countUserActiveTokens(User user) {
-        return refreshTokenRepository.countByUserAndRevokedFalse(user);
-    }
-
-    @Transactional
-    public void cleanupExpiredTokens() {
-        LocalDateTime now = LocalDateTime.now();
-        int deleted = refreshTokenRepository.deleteExpiredTokens(now);
-        log.info("Cleaned up {} expired refresh tokens", deleted);
+    public List<ActiveSession> getActiveSessions(String username) {
+        return authMetrics.timeRefreshTokenOperation("list_sessions",
+                () -> refreshTokenRepository.findActiveSessions(username));
     }
 
-    private String extractDeviceName(String userAgent) {
+    static String extractDeviceName(String userAgent) {
         if (userAgent == null || userAgent.isEmpty()) {
             return "Unknown Device";
         }
@@ -1,16 +1,21 @@
 package com.login.backend.service;
 
+import com.login.backend.cache.TokenBlacklistCache;
+import com.login.backend.cluster.InvalidationBus;
+import com.login.backend.metrics.AuthMetrics;
 import com.login.backend.model.BlacklistedToken;
 import com.login.backend.repository.BlacklistedTokenRepository;
 import com.login.backend.security.JwtUtil;
+import com.login.backend.security.VerifiedToken;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
-import java.util.Date;
+import java.util.List;
+import java.util.UUID;
 
 @Slf4j
 @Service
@@ -18,27 +23,45 @@ import java.util.Date;
 public class TokenBlacklistService {
 
     private final BlacklistedTokenRepository blacklistedTokenRepository;
+    private final TokenBlacklistCache blacklistCache;
+    private final TokenWriteBehindService writeBehindService;
     private final JwtUtil jwtUtil;
+    private final InvalidationBus invalidationBus;
+    private final AuthMetrics authMetrics;
 
-    @Transactional
-    public void blacklistToken(String token) {
-        if (blacklistedTokenRepository.existsByToken(token)) {
-            log.debug("Token already blacklisted");
-            return;
-        }
+    private static final String BLACKLIST_EVENT = "blacklist";
+
+    @PostConstruct
+    public void init() {
+        warmCache();
+        invalidationBus.subscribe(BLACKLIST_EVENT, this::applyRemoteBlacklist);
+        invalidationBus.onResync(this::warmCache);
+    }
+
+    public void warmCache() {
+        List<BlacklistedToken> activeTokens = blacklistedTokenRepository.findByExpiryDateAfter(LocalDateTime.now());
+        activeTokens.forEach(token -> blacklistCache.put(token.getTokenId(), token.getExpiryDate()));
+        log.info("Loaded {} blacklisted tokens into memory", activeTokens.size());
+    }
 
+    // Applied to the in-memory mirror immediately; the row is written by the next batched flush
+    public void blacklistToken(String token) {
         try {
-            Date expiration = jwtUtil.extractExpiration(token);
-            LocalDateTime expiryDate = expiration.toInstant()
+            VerifiedToken verifiedToken = jwtUtil.verify(token);
+            UUID tokenId = verifiedToken.tokenId();
+
+            if (blacklistCache.contains(tokenId)) {
+                log.debug("Token already blacklisted");
+                return;
+            }
+
+            LocalDateTime expiryDate = verifiedToken.expiresAt()
                     .atZone(ZoneId.systemDefault())
                     .toLocalDateTime();
 
-            BlacklistedToken blacklistedToken = BlacklistedToken.builder()
-                    .token(token)
-                    .expiryDate(expiryDate)
-                    .build();
-
-            blacklistedTokenRepository.save(blacklistedToken);
+            blacklistCache.put(tokenId, expiryDate);
+            writeBehindService.enqueueBlacklist(tokenId, expiryDate);
+            invalidationBus.publish(BLACKLIST_EVENT, tokenId + "," + expiryDate);
             log.info("Token blacklisted successfully");
         } catch (Exception e) {
             log.error("Error blacklisting token: {}", e.getMessage());
@@ -46,8 +69,21 @@ public class TokenBlacklistService {
         }
     }
 
-    @Transactional(readOnly = true)
-    public boolean isTokenBlacklisted(String token) {
-        return blacklistedTokenRepository.existsByToken(token);
+    private void applyRemoteBlacklist(String payload) {
+        String[] parts = payload.split(",", 2);
+        blacklistCache.put(UUID.fromString(parts[0]), LocalDateTime.parse(parts[1]));
+    }
+
+    // Not transactional: the common case is answered from memory without touching the pool
+    public boolean isTokenBlacklisted(UUID tokenId) {
+        return authMetrics.timeBlacklistLookup(() -> {
+            if (!blacklistCache.mightContain(tokenId)) {
+                return false;
+            }
+            if (blacklistCache.contains(tokenId)) {
+                return true;
+            }
+            return blacklistedTokenRepository.existsByTokenId(tokenId);
+        });
     }
-}
\ No newline at end of file
+}
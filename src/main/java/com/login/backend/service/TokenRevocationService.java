@@ -0,0 +1,198 @@
+package com.login.backend.service;
+
+import com.login.backend.cluster.InvalidationBus;
+import com.login.backend.model.User;
+import com.login.backend.repository.RevocationTombstoneRepository;
+import com.login.backend.repository.UserRepository;
+import com.login.backend.repository.projection.RevocationEpoch;
+import com.login.backend.security.JwtUtil;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.nio.charset.StandardCharsets;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-user "tokens not valid before" epoch. Bumping it revokes every access token the user
+ * was issued earlier in one write, and the request path only does a map lookup against the
+ * token's iat.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationService {
+
+    private final UserRepository userRepository;
+    private final RevocationTombstoneRepository revocationTombstoneRepository;
+    private final JwtUtil jwtUtil;
+    private final InvalidationBus invalidationBus;
+
+    private static final String EPOCH_EVENT = "epoch";
+    private static final String EPOCH_BULK_EVENT = "epoch-bulk";
+
+    // pg_notify payloads are capped at 8000 bytes
+    private static final int MAX_BULK_PAYLOAD_BYTES = 6000;
+
+    // username -> epoch second; tokens with an earlier iat are rejected
+    private final Map<String, Long> epochs = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        warmCache();
+        invalidationBus.subscribe(EPOCH_EVENT, this::applyRemoteEpoch);
+        invalidationBus.subscribe(EPOCH_BULK_EVENT, this::applyRemoteBulkEpoch);
+        invalidationBus.onResync(this::warmCache);
+    }
+
+    public void warmCache() {
+        LocalDateTime since = oldestRelevantEpoch();
+        List<RevocationEpoch> recent = userRepository.findRevocationEpochsSince(since);
+        List<RevocationEpoch> deleted = revocationTombstoneRepository.findRevocationEpochsSince(since);
+        recent.forEach(epoch -> applyEpoch(epoch.getUsername(), epoch.getTokensValidAfter()));
+        deleted.forEach(epoch -> applyEpoch(epoch.getUsername(), epoch.getTokensValidAfter()));
+        log.info("Loaded {} token revocation epochs into memory ({} of deleted users)",
+                recent.size() + deleted.size(), deleted.size());
+    }
+
+    @Transactional
+    public void revokeAllAccessTokens(String username) {
+        LocalDateTime validAfter = now();
+        userRepository.updateTokensValidAfter(username, validAfter);
+        applyEpoch(username, validAfter);
+        invalidationBus.publish(EPOCH_EVENT, validAfter + "," + username);
+        log.info("All access tokens revoked for user: {}", username);
+    }
+
+    // For callers that already hold the managed entity; persisted with their own save
+    public void revokeAllAccessTokens(User user) {
+        LocalDateTime validAfter = now();
+        user.setTokensValidAfter(validAfter);
+        applyEpoch(user.getUsername(), validAfter);
+        invalidationBus.publish(EPOCH_EVENT, validAfter + "," + user.getUsername());
+        log.info("All access tokens revoked for user: {}", user.getUsername());
+    }
+
+    /**
+     * For a user about to be deleted: the epoch goes to a tombstone instead of the user row, so
+     * it still reaches a restarted or new node until the user's last access token expires.
+     */
+    @Transactional
+    public void revokeAllAccessTokensOfDeletedUser(String username) {
+        LocalDateTime validAfter = now();
+        revocationTombstoneRepository.upsert(username, validAfter);
+        applyEpoch(username, validAfter);
+        invalidationBus.publish(EPOCH_EVENT, validAfter + "," + username);
+        log.info("All access tokens revoked for deleted user: {}", username);
+    }
+
+    /**
+     * Bulk variant for admin operations: one UPDATE for all users, and the new epoch is announced
+     * as a few newline-separated batches rather than one notification per user.
+     */
+    @Transactional
+    public int revokeAllAccessTokens(Collection<Long> userIds, Collection<String> usernames) {
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime validAfter = now();
+        int updated = userRepository.updateTokensValidAfterByIds(userIds, validAfter);
+        applyBulkEpoch(validAfter, usernames);
+        log.info("All access tokens revoked for {} users", updated);
+        return updated;
+    }
+
+    // Bulk counterpart of revokeAllAccessTokensOfDeletedUser; call it before the users are deleted
+    @Transactional
+    public int revokeAllAccessTokensOfDeletedUsers(Collection<Long> userIds, Collection<String> usernames) {
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime validAfter = now();
+        int recorded = revocationTombstoneRepository.upsertForUsers(userIds, validAfter);
+        applyBulkEpoch(validAfter, usernames);
+        log.info("All access tokens revoked for {} users about to be deleted", recorded);
+        return recorded;
+    }
+
+    private void applyBulkEpoch(LocalDateTime validAfter, Collection<String> usernames) {
+        usernames.forEach(username -> applyEpoch(username, validAfter));
+
+        StringBuilder payload = new StringBuilder(validAfter.toString());
+        int payloadBytes = payload.length();
+        boolean hasUsernames = false;
+        for (String username : usernames) {
+            int usernameBytes = username.getBytes(StandardCharsets.UTF_8).length + 1;
+            if (hasUsernames && payloadBytes + usernameBytes > MAX_BULK_PAYLOAD_BYTES) {
+                invalidationBus.publish(EPOCH_BULK_EVENT, payload.toString());
+                payload.setLength(0);
+                payload.append(validAfter);
+                payloadBytes = payload.length();
+                hasUsernames = false;
+            }
+            payload.append('\n').append(username);
+            payloadBytes += usernameBytes;
+            hasUsernames = true;
+        }
+        if (hasUsernames) {
+            invalidationBus.publish(EPOCH_BULK_EVENT, payload.toString());
+        }
+    }
+
+    public void applyEpoch(String username, LocalDateTime validAfter) {
+        epochs.merge(username, toEpochSecond(validAfter), Math::max);
+    }
+
+    private void applyRemoteEpoch(String payload) {
+        String[] parts = payload.split(",", 2);
+        applyEpoch(parts[1], LocalDateTime.parse(parts[0]));
+    }
+
+    private void applyRemoteBulkEpoch(String payload) {
+        String[] lines = payload.split("\n");
+        LocalDateTime validAfter = LocalDateTime.parse(lines[0]);
+        for (int i = 1; i < lines.length; i++) {
+            applyEpoch(lines[i], validAfter);
+        }
+    }
+
+    public boolean isRevoked(String username, Instant issuedAt) {
+        Long epoch = epochs.get(username);
+        return epoch != null && (issuedAt == null || issuedAt.getEpochSecond() < epoch);
+    }
+
+    // Once every token issued before an epoch has expired, the entry is dead weight
+    @Scheduled(fixedDelayString = "${app.token-revocation.eviction-interval-ms:300000}")
+    public void evictStaleEpochs() {
+        long cutoff = toEpochSecond(oldestRelevantEpoch());
+        epochs.values().removeIf(epoch -> epoch < cutoff);
+    }
+
+    public int size() {
+        return epochs.size();
+    }
+
+    // iat has second precision, so the epoch does too
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    // Tombstones older than this cover no live token
+    public LocalDateTime oldestRelevantEpoch() {
+        return LocalDateTime.now().minus(jwtUtil.getAccessTokenExpiration(), ChronoUnit.MILLIS);
+    }
+
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toEpochSecond();
+    }
+}
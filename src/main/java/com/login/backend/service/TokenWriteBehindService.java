@@ -0,0 +1,189 @@
+package com.login.backend.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind queue for token revocations. Callers update in-memory state first and
+ * enqueue here; a background flush writes the queued rows in JDBC batches with idempotent
+ * statements, so logout never waits on a per-row commit.
+ */
+@Slf4j
+@Service
+public class TokenWriteBehindService {
+
+    private static final String INSERT_BLACKLISTED_TOKEN =
+            "INSERT INTO blacklisted_tokens (id, token_id, expiry_date, blacklisted_at) " +
+            "VALUES (nextval('blacklisted_tokens_id_seq'), ?, ?, ?) " +
+            "ON CONFLICT DO NOTHING";
+
+    private static final String REVOKE_REFRESH_TOKEN =
+            "UPDATE refresh_tokens SET revoked = true, revoked_at = ? WHERE token_hash = ? AND revoked = false";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long remoteRevocationGraceMillis;
+
+    private final Queue<PendingBlacklistEntry> pendingBlacklist = new ConcurrentLinkedQueue<>();
+    private final Queue<PendingRevocation> pendingRevocationQueue = new ConcurrentLinkedQueue<>();
+    private final Set<ByteBuffer> pendingRevocations = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    // Revocations queued on other nodes. After the grace period this node writes them itself, so
+    // a revocation stays pending here until a write is confirmed, even if its origin never flushes
+    private final Map<ByteBuffer, LocalDateTime> remoteRevocations = new ConcurrentHashMap<>();
+
+    public TokenWriteBehindService(JdbcTemplate jdbcTemplate,
+                                   TransactionTemplate transactionTemplate,
+                                   @Value("${app.write-behind.batch-size:500}") int batchSize,
+                                   @Value("${app.write-behind.remote-revocation-grace-ms:10000}") long remoteRevocationGraceMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.remoteRevocationGraceMillis = remoteRevocationGraceMillis;
+    }
+
+    public void enqueueBlacklist(UUID tokenId, LocalDateTime expiryDate) {
+        pendingBlacklist.add(new PendingBlacklistEntry(tokenId, expiryDate, LocalDateTime.now()));
+    }
+
+    public void enqueueRefreshTokenRevocation(byte[] tokenHash) {
+        enqueueRevocation(ByteBuffer.wrap(tokenHash), LocalDateTime.now());
+    }
+
+    public void markRemoteRevocation(byte[] tokenHash) {
+        remoteRevocations.putIfAbsent(ByteBuffer.wrap(tokenHash), LocalDateTime.now());
+    }
+
+    public boolean isRevocationPending(byte[] tokenHash) {
+        ByteBuffer key = ByteBuffer.wrap(tokenHash);
+        return pendingRevocations.contains(key) || remoteRevocations.containsKey(key);
+    }
+
+    public int getPendingCount() {
+        return pendingBlacklist.size() + pendingRevocationQueue.size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.write-behind.flush-interval-ms:200}")
+    public void flush() {
+        if (!remoteRevocations.isEmpty()) {
+            adoptRemoteRevocations();
+        }
+        if (pendingBlacklist.isEmpty() && pendingRevocationQueue.isEmpty()) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            flushBlacklist();
+            flushRevocations();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+        if (getPendingCount() > 0) {
+            log.warn("{} token writes still pending at shutdown", getPendingCount());
+        }
+    }
+
+    // Queued locally before the marker goes, so the token never looks unrevoked in between
+    private void adoptRemoteRevocations() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(remoteRevocationGraceMillis, ChronoUnit.MILLIS);
+        remoteRevocations.entrySet().removeIf(marker -> {
+            if (marker.getValue().isAfter(cutoff)) {
+                return false;
+            }
+            enqueueRevocation(marker.getKey(), marker.getValue());
+            return true;
+        });
+    }
+
+    private void enqueueRevocation(ByteBuffer tokenHash, LocalDateTime revokedAt) {
+        if (pendingRevocations.add(tokenHash)) {
+            pendingRevocationQueue.add(new PendingRevocation(tokenHash, revokedAt));
+        }
+    }
+
+    private void flushBlacklist() {
+        List<PendingBlacklistEntry> batch;
+        while (!(batch = drain(pendingBlacklist)).isEmpty()) {
+            List<Object[]> rows = new ArrayList<>(batch.size());
+            for (PendingBlacklistEntry entry : batch) {
+                rows.add(new Object[]{
+                        entry.tokenId(),
+                        Timestamp.valueOf(entry.expiryDate()),
+                        Timestamp.valueOf(entry.blacklistedAt())
+                });
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        jdbcTemplate.batchUpdate(INSERT_BLACKLISTED_TOKEN, rows));
+                log.debug("Flushed {} blacklisted tokens", batch.size());
+            } catch (Exception e) {
+                log.error("Failed to flush {} blacklisted tokens, will retry: {}", batch.size(), e.getMessage());
+                pendingBlacklist.addAll(batch);
+                return;
+            }
+        }
+    }
+
+    private void flushRevocations() {
+        List<PendingRevocation> batch;
+        while (!(batch = drain(pendingRevocationQueue)).isEmpty()) {
+            List<Object[]> rows = batch.stream()
+                    .map(revocation -> new Object[]{
+                            Timestamp.valueOf(revocation.revokedAt()),
+                            revocation.tokenHash().array()
+                    })
+                    .toList();
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        jdbcTemplate.batchUpdate(REVOKE_REFRESH_TOKEN, rows));
+                batch.forEach(revocation -> pendingRevocations.remove(revocation.tokenHash()));
+                log.debug("Flushed {} refresh token revocations", batch.size());
+            } catch (Exception e) {
+                log.error("Failed to flush {} refresh token revocations, will retry: {}", batch.size(), e.getMessage());
+                pendingRevocationQueue.addAll(batch);
+                return;
+            }
+        }
+    }
+
+    private <T> List<T> drain(Queue<T> queue) {
+        List<T> batch = new ArrayList<>(Math.min(batchSize, 64));
+        T item;
+        while (batch.size() < batchSize && (item = queue.poll()) != null) {
+            batch.add(item);
+        }
+        return batch;
+    }
+
+    private record PendingBlacklistEntry(UUID tokenId, LocalDateTime expiryDate, LocalDateTime blacklistedAt) {
+    }
+
+    private record PendingRevocation(ByteBuffer tokenHash, LocalDateTime revokedAt) {
+    }
+}
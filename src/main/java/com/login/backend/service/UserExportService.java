@@ -0,0 +1,244 @@
+package com.login.backend.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Streams the users table, with each user's active session count, straight from a
+ * forward-only cursor to the response. Postgres only honours the fetch size inside a
+ * transaction, so the whole export runs in one read-only transaction and holds one
+ * connection until the last row is written. That connection and its bulkhead permit are gone
+ * for the whole download, so only max-concurrent exports may run at once.
+ */
+@Slf4j
+@Service
+public class UserExportService {
+
+    private static final String EXPORT_SQL =
+            "SELECT u.id, u.username, u.email, u.role, u.created_at, u.updated_at, " +
+            "(SELECT COUNT(*) FROM refresh_tokens rt " +
+            " WHERE rt.user_id = u.id AND rt.revoked = false AND rt.expiry_date > ?) AS active_sessions " +
+            "FROM users u ORDER BY u.id";
+
+    private static final String CSV_HEADER = "id,username,email,role,created_at,updated_at,active_sessions\n";
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format from(String value) {
+            return Format.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Semaphore exportSlots;
+
+    public UserExportService(DataSource dataSource,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper,
+                             @Value("${app.admin.export.fetch-size:1000}") int fetchSize,
+                             @Value("${app.admin.export.max-concurrent:1}") int maxConcurrent) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.exportSlots = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * Reserves one of the export slots without waiting. A caller that gets one must call
+     * {@link #finishExport()} once the export is done or will not run after all.
+     */
+    public boolean tryStartExport() {
+        return exportSlots.tryAcquire();
+    }
+
+    public void finishExport() {
+        exportSlots.release();
+    }
+
+    public long export(Format format, OutputStream out) throws IOException {
+        long start = System.currentTimeMillis();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        RowWriter rowWriter = format == Format.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+
+        Long rows;
+        try {
+            rows = transactionTemplate.execute(status -> {
+                rowWriter.start();
+                jdbcTemplate.query(EXPORT_SQL, rowWriter, LocalDateTime.now());
+                rowWriter.finish();
+                return rowWriter.count;
+            });
+        } catch (UncheckedIOException e) {
+            // Usually the client went away mid-download; the read-only transaction is simply rolled back
+            throw e.getCause();
+        }
+        writer.flush();
+
+        log.info("Exported {} users as {} in {} ms", rows, format, System.currentTimeMillis() - start);
+        return rows != null ? rows : 0;
+    }
+
+    private abstract static class RowWriter implements RowCallbackHandler {
+
+        long count;
+
+        void start() {
+        }
+
+        void finish() {
+        }
+
+        abstract void write(ResultSet rs) throws SQLException, IOException;
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            try {
+                write(rs);
+                count++;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private final class NdjsonRowWriter extends RowWriter {
+
+        private final Writer writer;
+        private JsonGenerator generator;
+
+        NdjsonRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        void start() {
+            try {
+                generator = objectMapper.getFactory().createGenerator(writer);
+                // Rows accumulate in the buffered writer; the caller flushes it once at the end
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        void write(ResultSet rs) throws SQLException, IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("id", rs.getLong("id"));
+            generator.writeStringField("username", rs.getString("username"));
+            generator.writeStringField("email", rs.getString("email"));
+            generator.writeStringField("role", rs.getString("role"));
+            generator.writeStringField("createdAt", timestamp(rs, "created_at"));
+            generator.writeStringField("updatedAt", timestamp(rs, "updated_at"));
+            generator.writeNumberField("activeSessions", rs.getLong("active_sessions"));
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        void finish() {
+            try {
+                generator.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static final class CsvRowWriter extends RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        void start() {
+            try {
+                writer.write(CSV_HEADER);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        void write(ResultSet rs) throws SQLException, IOException {
+            writer.write(Long.toString(rs.getLong("id")));
+            writer.write(',');
+            writer.write(escape(rs.getString("username")));
+            writer.write(',');
+            writer.write(escape(rs.getString("email")));
+            writer.write(',');
+            writer.write(escape(rs.getString("role")));
+            writer.write(',');
+            writer.write(escape(timestamp(rs, "created_at")));
+            writer.write(',');
+            writer.write(escape(timestamp(rs, "updated_at")));
+            writer.write(',');
+            writer.write(Long.toString(rs.getLong("active_sessions")));
+            writer.write('\n');
+        }
+
+        // RFC 4180 quoting
+        private static String escape(String value) {
+            if (value == null) {
+                return "";
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                    && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+
+    private static String timestamp(ResultSet rs, String column) throws SQLException {
+        LocalDateTime value = rs.getObject(column, LocalDateTime.class);
+        return value != null ? value.toString() : null;
+    }
+}
@@ -1,18 +1,31 @@
 package com.login.backend.service;
 
+import com.login.backend.cache.UserCache;
+import com.login.backend.cluster.InvalidationBus;
 import com.login.backend.dto.ChangePasswordRequest;
+import com.login.backend.dto.UserPageResponse;
 import com.login.backend.dto.UpdateProfileRequest;
 import com.login.backend.exception.InvalidCredentialsException;
 import com.login.backend.exception.UserNotFoundException;
+import com.login.backend.model.Role;
 import com.login.backend.model.User;
 import com.login.backend.repository.UserRepository;
+import com.login.backend.repository.projection.UserIdentity;
+import com.login.backend.repository.projection.UserSummary;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Slf4j
 @Service
@@ -21,60 +34,151 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TokenRevocationService tokenRevocationService;
+    private final InvalidationBus invalidationBus;
+    private final UserCache userCache;
 
-    @Transactional(readOnly = true)
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    public static final String USER_EVENT = "user";
+    public static final String USERS_BULK_EVENT = "users-bulk";
+
+    @PostConstruct
+    public void init() {
+        invalidationBus.subscribe(USER_EVENT, payload -> {
+            String[] parts = payload.split(",", 2);
+            userCache.invalidate(Long.valueOf(parts[0]), parts[1]);
+        });
+        // Bulk admin changes are announced without ids: just start over
+        invalidationBus.subscribe(USERS_BULK_EVENT, payload -> userCache.clear());
+        // Changes made while we were disconnected were never announced
+        invalidationBus.onResync(userCache::clear);
     }
 
+    @Value("${app.users.page.max-limit:200}")
+    private int maxPageLimit;
+
+    // One extra row is fetched to learn whether another page follows without a COUNT
     @Transactional(readOnly = true)
+    public UserPageResponse getUsersPage(Long cursor, int limit, Role role) {
+        int pageSize = Math.max(1, Math.min(limit, maxPageLimit));
+        long after = cursor != null ? cursor : 0L;
+        Limit fetch = Limit.of(pageSize + 1);
+
+        List<UserSummary> rows = role != null
+                ? userRepository.findByRoleAndIdGreaterThanOrderByIdAsc(role, after, fetch)
+                : userRepository.findByIdGreaterThanOrderByIdAsc(after, fetch);
+
+        boolean hasMore = rows.size() > pageSize;
+        List<UserSummary> page = hasMore ? rows.subList(0, pageSize) : rows;
+        return UserPageResponse.builder()
+                .users(page)
+                .nextCursor(hasMore ? page.get(page.size() - 1).getId() : null)
+                .limit(pageSize)
+                .build();
+    }
+
+    // Served from UserCache, and deliberately not @Transactional so a cache hit never checks out
+    // a connection; the returned User is a detached copy when it comes from the cache
+    public Optional<User> lookupByUsername(String username) {
+        return userCache.getByUsername(username, userRepository::findByUsername);
+    }
+
     public User findByUsername(String username) {
-        return userRepository.findByUsername(username)
+        return lookupByUsername(username)
                 .orElseThrow(() -> new UserNotFoundException("User not found: " + username));
     }
 
-    @Transactional(readOnly = true)
     public User findById(Long id) {
+        return userCache.getById(id, userRepository::findById)
+                .orElseThrow(() -> new UserNotFoundException("User not found with id: " + id));
+    }
+
+    // Mutations always start from the managed entity, never from a cached copy
+    private User loadByUsername(String username) {
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new UserNotFoundException("User not found: " + username));
+    }
+
+    private User loadById(Long id) {
         return userRepository.findById(id)
                 .orElseThrow(() -> new UserNotFoundException("User not found with id: " + id));
     }
 
     @Transactional
     public User updateProfile(String username, UpdateProfileRequest request) {
-        User user = findByUsername(username);
+        User user = loadByUsername(username);
         user.setEmail(request.getEmail());
 
+        User saved = userRepository.save(user);
+        userChanged(saved);
         log.info("Profile updated for user: {}", username);
-        return userRepository.save(user);
+        return saved;
     }
 
     @Transactional
     public void changePassword(String username, ChangePasswordRequest request) {
-        User user = findByUsername(username);
+        User user = loadByUsername(username);
 
         if (!passwordEncoder.matches(request.getOldPassword(), user.getPassword())) {
             throw new InvalidCredentialsException("Current password is incorrect");
         }
 
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
+        tokenRevocationService.revokeAllAccessTokens(user);
         userRepository.save(user);
+        userChanged(user);
         log.info("Password changed for user: {}", username);
     }
 
     @Transactional
     public User updateUserById(Long id, UpdateProfileRequest request) {
-        User user = findById(id);
+        User user = loadById(id);
         user.setEmail(request.getEmail());
+        User saved = userRepository.save(user);
+        userChanged(saved);
         log.info("User updated by admin: {}", id);
-        return userRepository.save(user);
+        return saved;
     }
 
     @Transactional
     public void deleteUser(Long id) {
-        if (!userRepository.existsById(id)) {
-            throw new UserNotFoundException("User not found with id: " + id);
-        }
-        userRepository.deleteById(id);
+        User user = loadById(id);
+        tokenRevocationService.revokeAllAccessTokensOfDeletedUser(user.getUsername());
+        userRepository.delete(user);
+        userChanged(user);
         log.info("User deleted: {}", id);
     }
-}
\ No newline at end of file
+
+    /**
+     * Drops the user from this node's cache and tells the other nodes to do the same. The local
+     * entry is dropped again after commit so a read racing the transaction cannot re-cache the old row.
+     * The bus message is sent within the transaction, so other nodes only see it once committed.
+     */
+    public void userChanged(User user) {
+        Long id = user.getId();
+        String username = user.getUsername();
+        userCache.invalidate(id, username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    userCache.invalidate(id, username);
+                }
+            });
+        }
+        invalidationBus.publish(USER_EVENT, id + "," + username);
+    }
+
+    // Bulk counterpart of userChanged: one bus message however many users were touched
+    public void usersChanged(Collection<UserIdentity> users) {
+        users.forEach(user -> userCache.invalidate(user.getId(), user.getUsername()));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    users.forEach(user -> userCache.invalidate(user.getId(), user.getUsername()));
+                }
+            });
+        }
+        invalidationBus.publish(USERS_BULK_EVENT, Integer.toString(users.size()));
+    }
+}
@@ -0,0 +1,83 @@
+-- Complete schema for the "partitioned" profile, with refresh_tokens and blacklisted_tokens
+-- range-partitioned by expiry_date. Hibernate only validates it (ddl-auto=validate), so every
+-- entity change has to be mirrored here; every statement is idempotent.
+-- Column names follow Hibernate's snake_case mapping of the entity fields, and index names
+-- match the @Index names on the entities.
+-- Unique keys must include the partition key, hence (token_hash, expiry_date) and (token_id, expiry_date).
+
+CREATE SEQUENCE IF NOT EXISTS users_id_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS refresh_tokens_id_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS blacklisted_tokens_id_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS login_events_id_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS users (
+    id bigint NOT NULL,
+    username varchar(50) NOT NULL UNIQUE,
+    email varchar(100) NOT NULL UNIQUE,
+    password varchar(255) NOT NULL,
+    role varchar(20) NOT NULL CHECK (role IN ('USER','ADMIN')),
+    created_at timestamp(6) NOT NULL,
+    updated_at timestamp(6) NOT NULL,
+    tokens_valid_after timestamp(6),
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_username ON users (username);
+CREATE INDEX IF NOT EXISTS idx_email ON users (email);
+CREATE INDEX IF NOT EXISTS idx_users_role_id ON users (role, id);
+
+CREATE TABLE IF NOT EXISTS revocation_tombstones (
+    username varchar(50) NOT NULL,
+    tokens_valid_after timestamp(6) NOT NULL,
+    PRIMARY KEY (username)
+);
+
+CREATE INDEX IF NOT EXISTS idx_revocation_tombstones_tokens_valid_after ON revocation_tombstones (tokens_valid_after);
+
+CREATE TABLE IF NOT EXISTS login_events (
+    id bigint NOT NULL,
+    username varchar(50) NOT NULL,
+    event_type varchar(20) NOT NULL
+        CHECK (event_type IN ('LOGIN_SUCCESS','LOGIN_FAILURE','REFRESH','LOGOUT','LOGOUT_ALL')),
+    occurred_at timestamp(6) NOT NULL,
+    ip_address varchar(45),
+    user_agent varchar(500),
+    device_name varchar(255),
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_login_events_username_id ON login_events (username, id);
+CREATE INDEX IF NOT EXISTS idx_login_events_type_id ON login_events (event_type, id);
+CREATE INDEX IF NOT EXISTS idx_login_events_occurred_at ON login_events (occurred_at);
+
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id bigint NOT NULL,
+    token_hash bytea NOT NULL,
+    user_id bigint NOT NULL CONSTRAINT fk_refresh_tokens_user REFERENCES users,
+    expiry_date timestamp(6) NOT NULL,
+    created_at timestamp(6) NOT NULL,
+    revoked boolean NOT NULL,
+    revoked_at timestamp(6),
+    device_name varchar(255),
+    ip_address varchar(45),
+    user_agent varchar(500),
+    PRIMARY KEY (id, expiry_date)
+) PARTITION BY RANGE (expiry_date);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_refresh_tokens_token_hash ON refresh_tokens (token_hash, expiry_date);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_user_revoked ON refresh_tokens (user_id, revoked);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_expiry_date ON refresh_tokens (expiry_date);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_revoked_at ON refresh_tokens (revoked_at);
+CREATE TABLE IF NOT EXISTS refresh_tokens_default PARTITION OF refresh_tokens DEFAULT;
+
+CREATE TABLE IF NOT EXISTS blacklisted_tokens (
+    id bigint NOT NULL,
+    token_id uuid NOT NULL,
+    expiry_date timestamp(6) NOT NULL,
+    blacklisted_at timestamp(6) NOT NULL,
+    PRIMARY KEY (id, expiry_date)
+) PARTITION BY RANGE (expiry_date);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_blacklisted_tokens_token_id ON blacklisted_tokens (token_id, expiry_date);
+CREATE INDEX IF NOT EXISTS idx_blacklisted_tokens_expiry_date ON blacklisted_tokens (expiry_date);
+CREATE TABLE IF NOT EXISTS blacklisted_tokens_default PARTITION OF blacklisted_tokens DEFAULT;
@@ -0,0 +1,81 @@
+package com.login.backend;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Boots the whole application against a real Postgres so that native SQL, ON CONFLICT and
+ * LISTEN/NOTIFY are exercised as in production. One embedded server is shared by every
+ * test class in the JVM, and Spring caches the context between classes that extend this.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public abstract class AbstractIntegrationTest {
+
+    protected static final String MANAGEMENT_PASSWORD = "integration-test-scrape-password";
+
+    private static final EmbeddedPostgres POSTGRES = startPostgres();
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registerPostgres(registry, "postgres");
+    }
+
+    /**
+     * Points the application at a database of the shared server, creating it on first use.
+     * Test classes that need a schema of their own (another profile) use a separate database.
+     */
+    public static void registerPostgres(DynamicPropertyRegistry registry, String database) {
+        createDatabaseIfMissing(database);
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", database));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+        registry.add("jwt.secret", () -> "integration-test-secret-0123456789abcdefghijklmnop");
+        registry.add("app.cors.allowed-origins", () -> "http://localhost:3000");
+        registry.add("app.management.password", () -> MANAGEMENT_PASSWORD);
+        // Lowest cost BCrypt accepts; calibration would only slow the suite down
+        registry.add("app.security.bcrypt.strength", () -> "4");
+        registry.add("spring.devtools.restart.enabled", () -> "false");
+        registry.add("spring.jpa.properties.hibernate.session_factory.statement_inspector",
+                SqlStatementCounter.class::getName);
+    }
+
+    private static void createDatabaseIfMissing(String database) {
+        try (Connection connection = POSTGRES.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            try (ResultSet existing = statement.executeQuery(
+                    "SELECT 1 FROM pg_database WHERE datname = '" + database + "'")) {
+                if (existing.next()) {
+                    return;
+                }
+            }
+            statement.execute("CREATE DATABASE " + database);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not create database " + database, e);
+        }
+    }
+
+    private static EmbeddedPostgres startPostgres() {
+        try {
+            EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    postgres.close();
+                } catch (IOException ignored) {
+                    // the JVM is going away anyway
+                }
+            }));
+            return postgres;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.login.backend;
+
+import com.login.backend.cache.VerifiedTokenCache;
+import com.login.backend.repository.RefreshTokenRepository;
+import com.login.backend.repository.projection.ActiveSession;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuthFlowIntegrationTest extends AbstractIntegrationTest {
+
+    private static final ParameterizedTypeReference<Map<String, Object>> JSON = new ParameterizedTypeReference<>() {
+    };
+    private static final String PASSWORD = "correct-horse-battery";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Value("${app.max-refresh-tokens-per-user}")
+    private int maxTokensPerUser;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Test
+    void registerLoginRefreshAndLogout() {
+        String username = register();
+
+        Map<String, Object> tokens = login(username);
+        String accessToken = (String) tokens.get("accessToken");
+        String refreshToken = (String) tokens.get("refreshToken");
+        assertThat(accessToken).isNotBlank();
+        assertThat(refreshToken).isNotBlank();
+
+        ResponseEntity<Map<String, Object>> me = exchange(HttpMethod.GET, "/api/users/me", null, accessToken);
+        assertThat(me.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(me.getBody()).containsEntry("username", username);
+
+        ResponseEntity<Map<String, Object>> refreshed =
+                exchange(HttpMethod.POST, "/api/auth/refresh", Map.of("refreshToken", refreshToken), null);
+        assertThat(refreshed.getStatusCode()).isEqualTo(HttpStatus.OK);
+        String refreshedAccessToken = (String) refreshed.getBody().get("accessToken");
+        assertThat(refreshedAccessToken).isNotBlank();
+
+        ResponseEntity<Map<String, Object>> logout =
+                exchange(HttpMethod.POST, "/api/auth/logout", Map.of("refreshToken", refreshToken), refreshedAccessToken);
+        assertThat(logout.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+
+        assertThat(exchange(HttpMethod.GET, "/api/users/me", null, refreshedAccessToken).getStatusCode())
+                .isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(exchange(HttpMethod.POST, "/api/auth/refresh", Map.of("refreshToken", refreshToken), null)
+                .getStatusCode())
+                .isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    void cachedAccessTokenIsRejectedOnceBlacklisted() {
+        String username = register();
+        Map<String, Object> tokens = login(username);
+        String accessToken = (String) tokens.get("accessToken");
+
+        long hits = verifiedTokenCache.getHits();
+        assertThat(exchange(HttpMethod.GET, "/api/users/me", null, accessToken).getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(exchange(HttpMethod.GET, "/api/users/me", null, accessToken).getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(verifiedTokenCache.getHits()).isGreaterThan(hits);
+
+        assertThat(exchange(HttpMethod.POST, "/api/auth/logout", Map.of("refreshToken", tokens.get("refreshToken")),
+                accessToken).getStatusCode())
+                .isEqualTo(HttpStatus.NO_CONTENT);
+
+        assertThat(exchange(HttpMethod.GET, "/api/users/me", null, accessToken).getStatusCode())
+                .isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    void cachedAccessTokenIsRejectedAfterLogoutFromAllDevices() throws InterruptedException {
+        String username = register();
+        String accessToken = (String) login(username).get("accessToken");
+        String otherDeviceToken = (String) login(username).get("accessToken");
+        assertThat(exchange(HttpMethod.GET, "/api/users/me", null, accessToken).getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(exchange(HttpMethod.GET, "/api/users/me", null, otherDeviceToken).getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        // Epochs have the one-second resolution of iat; tokens issued in the revoking second stay valid
+        Thread.sleep(1_000);
+        assertThat(exchange(HttpMethod.POST, "/api/auth/logout-all", null, accessToken).getStatusCode())
+                .isEqualTo(HttpStatus.NO_CONTENT);
+
+        assertThat(exchange(HttpMethod.GET, "/api/users/me", null, accessToken).getStatusCode())
+                .isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(exchange(HttpMethod.GET, "/api/users/me", null, otherDeviceToken).getStatusCode())
+                .isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    void wrongPasswordIsRejected() {
+        String username = register();
+
+        ResponseEntity<Map<String, Object>> response = exchange(HttpMethod.POST, "/api/auth/login",
+                Map.of("username", username, "password", "not-the-password"), null);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    void loginBeyondTheSessionCapRevokesTheOldestSessions() {
+        String username = register();
+
+        for (int i = 0; i < maxTokensPerUser + 2; i++) {
+            login(username);
+        }
+
+        List<ActiveSession> sessions = refreshTokenRepository.findActiveSessions(username);
+        assertThat(sessions).hasSize(maxTokensPerUser);
+        Long revoked = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM refresh_tokens rt JOIN users u ON u.id = rt.user_id " +
+                "WHERE u.username = ? AND rt.revoked = true AND rt.revoked_at IS NOT NULL", Long.class, username);
+        assertThat(revoked).isEqualTo(2L);
+    }
+
+    @Test
+    void sessionsCanOnlyBeRevokedByTheirOwner() {
+        String owner = register();
+        Map<String, Object> ownerTokens = login(owner);
+        String ownerRefreshToken = (String) ownerTokens.get("refreshToken");
+        Long sessionId = refreshTokenRepository.findActiveSessions(owner).get(0).getId();
+        String otherAccessToken = (String) login(register()).get("accessToken");
+
+        assertThat(exchange(HttpMethod.DELETE, "/api/auth/sessions/" + sessionId, null, otherAccessToken)
+                .getStatusCode())
+                .isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(exchange(HttpMethod.DELETE, "/api/auth/sessions/" + Long.MAX_VALUE, null, otherAccessToken)
+                .getStatusCode())
+                .isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(refreshTokenRepository.findActiveSessions(owner))
+                .extracting(ActiveSession::getId)
+                .containsExactly(sessionId);
+        assertThat(exchange(HttpMethod.DELETE, "/api/auth/sessions/" + sessionId, null,
+                (String) ownerTokens.get("accessToken")).getStatusCode())
+                .isEqualTo(HttpStatus.NO_CONTENT);
+        assertThat(exchange(HttpMethod.POST, "/api/auth/refresh", Map.of("refreshToken", ownerRefreshToken), null)
+                .getStatusCode())
+                .isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    void actuatorIsOnlyServedOnTheManagementPort() {
+        String accessToken = (String) login(register()).get("accessToken");
+        // Tests run without metrics export, so /actuator/metrics stands in for the prometheus scrape
+        String management = "http://localhost:" + managementPort;
+
+        assertThat(restTemplate.getForEntity(management + "/actuator/health/liveness", String.class).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+        assertThat(restTemplate.getForEntity(management + "/actuator/metrics", String.class).getStatusCode())
+                .isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(exchange(HttpMethod.GET, management + "/actuator/metrics", null, accessToken).getStatusCode())
+                .isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(restTemplate.withBasicAuth("metrics", MANAGEMENT_PASSWORD)
+                .getForEntity(management + "/actuator/metrics", String.class).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+        assertThat(restTemplate.withBasicAuth("metrics", "wrong")
+                .getForEntity(management + "/actuator/metrics", String.class).getStatusCode())
+                .isEqualTo(HttpStatus.UNAUTHORIZED);
+
+        assertThat(restTemplate.getForEntity("/actuator/health", String.class).getStatusCode())
+                .isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    private String register() {
+        String username = "flow-" + UUID.randomUUID().toString().substring(0, 8);
+        ResponseEntity<Map<String, Object>> response = exchange(HttpMethod.POST, "/api/auth/register",
+                Map.of("username", username, "email", username + "@example.com", "password", PASSWORD), null);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        return username;
+    }
+
+    private Map<String, Object> login(String username) {
+        ResponseEntity<Map<String, Object>> response = exchange(HttpMethod.POST, "/api/auth/login",
+                Map.of("username", username, "password", PASSWORD), null);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody();
+    }
+
+    private ResponseEntity<Map<String, Object>> exchange(HttpMethod method, String path, Object body, String accessToken) {
+        HttpHeaders headers = new HttpHeaders();
+        if (accessToken != null) {
+            headers.setBearerAuth(accessToken);
+        }
+        return restTemplate.exchange(path, method, new HttpEntity<>(body, headers), JSON);
+    }
+}
@@ -0,0 +1,54 @@
+package com.login.backend.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    @Test
+    void neverReportsAnInsertedElementAsMissing() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        SplittableRandom random = new SplittableRandom(42);
+        long[][] hashes = new long[10_000][2];
+        for (long[] hash : hashes) {
+            hash[0] = random.nextLong();
+            hash[1] = random.nextLong() | 1L;
+            filter.put(hash[0], hash[1]);
+        }
+
+        for (long[] hash : hashes) {
+            assertThat(filter.mightContain(hash[0], hash[1])).isTrue();
+        }
+    }
+
+    @Test
+    void keepsFalsePositivesNearTheConfiguredRate() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(random.nextLong(), random.nextLong() | 1L);
+        }
+
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain(random.nextLong(), random.nextLong() | 1L)) {
+                falsePositives++;
+            }
+        }
+
+        // 1% target; leave room for variance but catch a broken bit layout
+        assertThat((double) falsePositives / probes).isLessThan(0.02);
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        BloomFilter filter = new BloomFilter(100, 0.01);
+
+        assertThat(filter.mightContain(1L, 3L)).isFalse();
+        assertThat(filter.mightContain(-1L, Long.MAX_VALUE)).isFalse();
+    }
+}
@@ -0,0 +1,57 @@
+package com.login.backend.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBlacklistCacheTest {
+
+    private final TokenBlacklistCache cache = new TokenBlacklistCache(1_000, 0.01);
+
+    @Test
+    void blacklistedTokenIsFoundByFilterAndExactMap() {
+        UUID tokenId = UUID.randomUUID();
+        cache.put(tokenId, LocalDateTime.now().plusHours(1));
+
+        assertThat(cache.mightContain(tokenId)).isTrue();
+        assertThat(cache.contains(tokenId)).isTrue();
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void unknownTokenIsNotContained() {
+        cache.put(UUID.randomUUID(), LocalDateTime.now().plusHours(1));
+
+        assertThat(cache.contains(UUID.randomUUID())).isFalse();
+    }
+
+    @Test
+    void alreadyExpiredTokenIsNotStored() {
+        UUID tokenId = UUID.randomUUID();
+        cache.put(tokenId, LocalDateTime.now().minusSeconds(1));
+
+        assertThat(cache.contains(tokenId)).isFalse();
+        assertThat(cache.mightContain(tokenId)).isFalse();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void evictionDropsExpiredEntriesAndRebuildsTheFilter() throws InterruptedException {
+        UUID expiring = UUID.randomUUID();
+        UUID live = UUID.randomUUID();
+        cache.put(expiring, LocalDateTime.now().plusNanos(50_000_000));
+        cache.put(live, LocalDateTime.now().plusHours(1));
+
+        Thread.sleep(100);
+        cache.evictExpired();
+
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.contains(expiring)).isFalse();
+        assertThat(cache.mightContain(expiring)).isFalse();
+        assertThat(cache.contains(live)).isTrue();
+        assertThat(cache.mightContain(live)).isTrue();
+    }
+}
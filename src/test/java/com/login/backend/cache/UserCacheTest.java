@@ -0,0 +1,119 @@
+package com.login.backend.cache;
+
+import com.login.backend.model.Role;
+import com.login.backend.model.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserCacheTest {
+
+    private final UserCache cache = new UserCache(true, 100, 60_000);
+
+    // Stands in for the users table
+    private final Map<String, User> rows = new ConcurrentHashMap<>();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void hitsAreServedWithoutLoadingAndAsCopies() {
+        rows.put("alice", user(1L, "alice", "hash-1", Role.USER));
+
+        cache.getByUsername("alice", this::load).orElseThrow().setPassword("mutated");
+
+        assertThat(cache.getByUsername("alice", this::load)).map(User::getPassword).contains("hash-1");
+        assertThat(cache.getById(1L, id -> Optional.empty())).map(User::getUsername).contains("alice");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void passwordChangeDuringALoadIsSeenOnTheNextLookup() throws Exception {
+        rows.put("alice", user(1L, "alice", "old-hash", Role.USER));
+        CountDownLatch staleRowRead = new CountDownLatch(1);
+        CountDownLatch invalidated = new CountDownLatch(1);
+
+        // The load reads the row, then stalls until the password change has committed and invalidated
+        CompletableFuture<Optional<User>> racingLoad = CompletableFuture.supplyAsync(() ->
+                cache.getByUsername("alice", username -> {
+                    Optional<User> stale = load(username);
+                    staleRowRead.countDown();
+                    await(invalidated);
+                    return stale;
+                }));
+        await(staleRowRead);
+        rows.put("alice", user(1L, "alice", "new-hash", Role.USER));
+        cache.invalidate(1L, "alice");
+        invalidated.countDown();
+
+        assertThat(racingLoad.get(5, TimeUnit.SECONDS)).map(User::getPassword).contains("old-hash");
+        assertThat(cache.size()).isZero();
+        assertThat(cache.getByUsername("alice", this::load)).map(User::getPassword).contains("new-hash");
+    }
+
+    @Test
+    void roleChangeDuringALoadIsSeenOnTheNextLookupById() throws Exception {
+        rows.put("bob", user(2L, "bob", "hash", Role.USER));
+        CountDownLatch staleRowRead = new CountDownLatch(1);
+        CountDownLatch invalidated = new CountDownLatch(1);
+
+        CompletableFuture<Optional<User>> racingLoad = CompletableFuture.supplyAsync(() ->
+                cache.getById(2L, id -> {
+                    Optional<User> stale = load("bob");
+                    staleRowRead.countDown();
+                    await(invalidated);
+                    return stale;
+                }));
+        await(staleRowRead);
+        rows.put("bob", user(2L, "bob", "hash", Role.ADMIN));
+        cache.invalidate(2L, "bob");
+        invalidated.countDown();
+
+        assertThat(racingLoad.get(5, TimeUnit.SECONDS)).map(User::getRole).contains(Role.USER);
+        assertThat(cache.getById(2L, id -> load("bob"))).map(User::getRole).contains(Role.ADMIN);
+        assertThat(cache.getByUsername("bob", this::load)).map(User::getRole).contains(Role.ADMIN);
+    }
+
+    @Test
+    void invalidationEvictsAUserCachedUnderItsOldUsername() {
+        rows.put("carol", user(3L, "carol", "hash", Role.USER));
+        cache.getByUsername("carol", this::load);
+
+        rows.remove("carol");
+        rows.put("carol2", user(3L, "carol2", "hash", Role.USER));
+        cache.invalidate(3L, "carol2");
+
+        assertThat(cache.getByUsername("carol", this::load)).isEmpty();
+        assertThat(cache.getById(3L, id -> load("carol2"))).map(User::getUsername).contains("carol2");
+    }
+
+    private Optional<User> load(String username) {
+        loads.incrementAndGet();
+        return Optional.ofNullable(rows.get(username));
+    }
+
+    private static User user(Long id, String username, String password, Role role) {
+        return User.builder()
+                .id(id)
+                .username(username)
+                .email(username + "@example.com")
+                .password(password)
+                .role(role)
+                .build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
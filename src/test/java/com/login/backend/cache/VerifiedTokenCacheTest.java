@@ -0,0 +1,76 @@
+package com.login.backend.cache;
+
+import com.login.backend.security.VerifiedToken;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerifiedTokenCacheTest {
+
+    private final VerifiedTokenCache cache = new VerifiedTokenCache(true, 100, 300_000);
+    private final AtomicInteger verifications = new AtomicInteger();
+
+    @Test
+    void repeatedTokenIsVerifiedOnce() {
+        Function<String, VerifiedToken> verifier = verifierExpiringAt(Instant.now().plusSeconds(600));
+
+        VerifiedToken first = cache.getOrVerify("token-a", verifier);
+        VerifiedToken second = cache.getOrVerify("token-a", verifier);
+
+        assertThat(second).isSameAs(first);
+        assertThat(verifications).hasValue(1);
+        assertThat(cache.getHits()).isEqualTo(1);
+    }
+
+    @Test
+    void entryDoesNotOutliveTheTokenExpiry() throws InterruptedException {
+        Function<String, VerifiedToken> verifier = verifierExpiringAt(Instant.now().plusMillis(200));
+
+        cache.getOrVerify("token-b", verifier);
+        assertThat(cache.size()).isEqualTo(1);
+        Thread.sleep(300);
+
+        cache.getOrVerify("token-b", verifier);
+        assertThat(verifications).hasValue(2);
+        cache.evictExpired();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void alreadyExpiredTokenIsNotCached() {
+        cache.getOrVerify("token-c", verifierExpiringAt(Instant.now().minusSeconds(1)));
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void failedVerificationIsNotCached() {
+        Function<String, VerifiedToken> failing = token -> {
+            verifications.incrementAndGet();
+            throw new IllegalArgumentException("bad signature");
+        };
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                cache.getOrVerify("token-d", failing);
+            } catch (IllegalArgumentException expected) {
+                // rejected every time, never served from the cache
+            }
+        }
+
+        assertThat(verifications).hasValue(2);
+        assertThat(cache.size()).isZero();
+    }
+
+    private Function<String, VerifiedToken> verifierExpiringAt(Instant expiresAt) {
+        return token -> {
+            verifications.incrementAndGet();
+            return new VerifiedToken(UUID.randomUUID(), "alice", "USER", "access", Instant.now(), expiresAt);
+        };
+    }
+}
@@ -0,0 +1,174 @@
+package com.login.backend.cluster;
+
+import com.login.backend.AbstractIntegrationTest;
+import com.login.backend.cache.TokenBlacklistCache;
+import com.login.backend.cache.UserCache;
+import com.login.backend.dto.UpdateProfileRequest;
+import com.login.backend.metrics.AuthMetrics;
+import com.login.backend.model.Role;
+import com.login.backend.model.User;
+import com.login.backend.repository.BlacklistedTokenRepository;
+import com.login.backend.repository.RevocationTombstoneRepository;
+import com.login.backend.repository.UserRepository;
+import com.login.backend.security.JwtUtil;
+import com.login.backend.service.TokenBlacklistService;
+import com.login.backend.service.TokenRevocationService;
+import com.login.backend.service.TokenWriteBehindService;
+import com.login.backend.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * The application context is one node; a second bus with its own services and caches, on the
+ * same database, plays the other node.
+ */
+class InvalidationBusTest extends AbstractIntegrationTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RevocationTombstoneRepository revocationTombstoneRepository;
+
+    @Autowired
+    private BlacklistedTokenRepository blacklistedTokenRepository;
+
+    @Autowired
+    private TokenWriteBehindService writeBehindService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private AuthMetrics authMetrics;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private TokenBlacklistService tokenBlacklistService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private UserService userService;
+
+    private InvalidationBus otherBus;
+    private TokenBlacklistService otherBlacklist;
+    private TokenRevocationService otherRevocations;
+    private UserService otherUsers;
+
+    @BeforeEach
+    void createOtherNode() {
+        otherBus = new InvalidationBus(jdbcTemplate, dataSourceProperties, true, "auth_invalidation", 100, 1000, 10000);
+        otherBlacklist = new TokenBlacklistService(blacklistedTokenRepository, new TokenBlacklistCache(1000, 0.01),
+                writeBehindService, jwtUtil, otherBus, authMetrics);
+        otherRevocations = new TokenRevocationService(userRepository, revocationTombstoneRepository, jwtUtil, otherBus);
+        otherUsers = new UserService(userRepository, passwordEncoder, otherRevocations, otherBus,
+                new UserCache(true, 100, 60000));
+        otherBlacklist.init();
+        otherRevocations.init();
+        otherUsers.init();
+    }
+
+    @AfterEach
+    void stopOtherNode() {
+        otherBus.stop();
+    }
+
+    @Test
+    void eventsPublishedByOneNodeTakeEffectOnTheOther() {
+        otherBus.start();
+        User user = saveUser();
+        String accessToken = jwtUtil.generateAccessToken(user.getUsername(), "USER");
+        UUID tokenId = jwtUtil.verify(accessToken).tokenId();
+        assertThat(otherUsers.findByUsername(user.getUsername()).getEmail()).isEqualTo(user.getEmail());
+
+        tokenBlacklistService.blacklistToken(accessToken);
+        tokenRevocationService.revokeAllAccessTokens(user.getUsername());
+        userService.updateUserById(user.getId(), emailChange("renamed-" + user.getEmail()));
+
+        await().atMost(TIMEOUT).untilAsserted(() -> {
+            assertThat(otherBlacklist.isTokenBlacklisted(tokenId)).isTrue();
+            assertThat(otherRevocations.isRevoked(user.getUsername(), Instant.now().minusSeconds(5))).isTrue();
+            assertThat(otherUsers.findByUsername(user.getUsername()).getEmail()).startsWith("renamed-");
+        });
+    }
+
+    @Test
+    void changesCommittedBeforeTheFirstListenAreResynced() {
+        User user = saveUser();
+        String accessToken = jwtUtil.generateAccessToken(user.getUsername(), "USER");
+        UUID tokenId = jwtUtil.verify(accessToken).tokenId();
+
+        // The other node has warmed its caches but is not listening yet, as during its startup
+        tokenBlacklistService.blacklistToken(accessToken);
+        writeBehindService.flush();
+        tokenRevocationService.revokeAllAccessTokens(user.getUsername());
+        await().atMost(TIMEOUT).until(() -> blacklistedTokenRepository.existsByTokenId(tokenId));
+
+        otherBus.start();
+
+        assertThat(otherBlacklist.isTokenBlacklisted(tokenId)).isTrue();
+        assertThat(otherRevocations.isRevoked(user.getUsername(), Instant.now().minusSeconds(5))).isTrue();
+    }
+
+    @Test
+    void changesMissedWhileDisconnectedAreResyncedAfterReconnecting() {
+        otherBus.start();
+        User user = saveUser();
+        String accessToken = jwtUtil.generateAccessToken(user.getUsername(), "USER");
+        UUID tokenId = jwtUtil.verify(accessToken).tokenId();
+        assertThat(otherUsers.findByUsername(user.getUsername()).getEmail()).isEqualTo(user.getEmail());
+
+        // Drops every listener connection; both nodes reconnect after their reconnect delay
+        jdbcTemplate.queryForList(
+                "SELECT pg_terminate_backend(pid) FROM pg_stat_activity WHERE query = 'LISTEN auth_invalidation'");
+        tokenBlacklistService.blacklistToken(accessToken);
+        writeBehindService.flush();
+        tokenRevocationService.revokeAllAccessTokens(user.getUsername());
+        userService.updateUserById(user.getId(), emailChange("renamed-" + user.getEmail()));
+
+        await().atMost(TIMEOUT).untilAsserted(() -> {
+            assertThat(otherBlacklist.isTokenBlacklisted(tokenId)).isTrue();
+            assertThat(otherRevocations.isRevoked(user.getUsername(), Instant.now().minusSeconds(5))).isTrue();
+            assertThat(otherUsers.findByUsername(user.getUsername()).getEmail()).startsWith("renamed-");
+        });
+    }
+
+    private User saveUser() {
+        return userRepository.save(User.builder()
+                .username("bus-" + UUID.randomUUID().toString().substring(0, 8))
+                .email(UUID.randomUUID().toString().substring(0, 8) + "@example.com")
+                .password("{noop}unused")
+                .role(Role.USER)
+                .build());
+    }
+
+    private static UpdateProfileRequest emailChange(String email) {
+        UpdateProfileRequest request = new UpdateProfileRequest();
+        request.setEmail(email);
+        return request;
+    }
+}
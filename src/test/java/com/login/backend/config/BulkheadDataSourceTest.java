@@ -0,0 +1,91 @@
+package com.login.backend.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BulkheadDataSourceTest {
+
+    private final DataSource target = mock(DataSource.class);
+
+    @BeforeEach
+    void poolHandsOutConnections() throws SQLException {
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+    }
+
+    @Test
+    void callerPastThePermitCountTimesOutWithoutTouchingThePool() throws SQLException {
+        DatabaseBulkhead bulkhead = new DatabaseBulkhead(2, 50);
+        BulkheadDataSource dataSource = new BulkheadDataSource(target, bulkhead);
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        long start = System.nanoTime();
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(50);
+        assertThat(bulkhead.getRejectedCount()).isEqualTo(1);
+        verify(target, times(2)).getConnection();
+    }
+
+    @Test
+    void waitingCallerProceedsWhenAConnectionIsClosed() throws Exception {
+        DatabaseBulkhead bulkhead = new DatabaseBulkhead(1, 5_000);
+        BulkheadDataSource dataSource = new BulkheadDataSource(target, bulkhead);
+        Connection held = dataSource.getConnection();
+
+        CompletableFuture<Connection> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return dataSource.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        await().atMost(2, TimeUnit.SECONDS).until(() -> bulkhead.getQueueLength() == 1);
+        assertThat(waiting).isNotDone();
+
+        held.close();
+
+        assertThat(waiting.get(2, TimeUnit.SECONDS)).isNotNull();
+        assertThat(bulkhead.getAvailablePermits()).isZero();
+        assertThat(bulkhead.getRejectedCount()).isZero();
+    }
+
+    @Test
+    void closingTwiceReleasesOnePermit() throws SQLException {
+        DatabaseBulkhead bulkhead = new DatabaseBulkhead(2, 50);
+        BulkheadDataSource dataSource = new BulkheadDataSource(target, bulkhead);
+        Connection connection = dataSource.getConnection();
+        dataSource.getConnection();
+
+        connection.close();
+        connection.close();
+
+        assertThat(bulkhead.getAvailablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void permitIsReturnedWhenThePoolFails() throws SQLException {
+        DatabaseBulkhead bulkhead = new DatabaseBulkhead(1, 50);
+        BulkheadDataSource dataSource = new BulkheadDataSource(target, bulkhead);
+        when(target.getConnection()).thenThrow(new SQLTransientConnectionException("pool timeout"));
+
+        assertThatThrownBy(dataSource::getConnection).hasMessage("pool timeout");
+
+        assertThat(bulkhead.getAvailablePermits()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,125 @@
+package com.login.backend.controller;
+
+import com.login.backend.AbstractIntegrationTest;
+import com.login.backend.config.DatabaseBulkhead;
+import com.login.backend.security.JwtUtil;
+import com.login.backend.service.HealthSnapshotService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class HealthControllerTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Test
+    void probesAreUpOnAHealthyInstance() {
+        assertThat(restTemplate.getForEntity("/api/health/live", Map.class).getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        ResponseEntity<Map> ready = restTemplate.getForEntity("/api/health/ready", Map.class);
+        assertThat(ready.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(ready.getBody()).containsEntry("status", "UP").containsEntry("jwtKeys", "UP");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void readinessIsDownWhileCallersQueueForTheDatabase() throws Exception {
+        DatabaseBulkhead bulkhead = new DatabaseBulkhead(1, 10_000);
+        HealthSnapshotService health = healthService(bulkhead, jwtUtil);
+        HealthController controller = new HealthController(health);
+
+        bulkhead.acquire();
+        CompletableFuture<Void> queued = CompletableFuture.runAsync(() -> {
+            try {
+                bulkhead.acquire();
+                bulkhead.release();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        try {
+            await().atMost(Duration.ofSeconds(2)).until(() -> bulkhead.getQueueLength() == 1);
+            health.refresh();
+
+            ResponseEntity<Map<String, Object>> ready = controller.readiness();
+            assertThat(ready.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+            assertThat(ready.getBody()).containsEntry("status", "DOWN").containsEntry("database", "UP");
+            assertThat((Map<String, Object>) ready.getBody().get("connectionPool"))
+                    .containsEntry("status", "SATURATED")
+                    .containsEntry("bulkheadQueue", 1);
+            assertThat(controller.liveness().getStatusCode()).isEqualTo(HttpStatus.OK);
+        } finally {
+            bulkhead.release();
+            queued.join();
+        }
+
+        health.refresh();
+        assertThat(controller.readiness().getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void readinessIsDownWhenTheSigningKeysFail() {
+        JwtUtil brokenKeys = mock(JwtUtil.class);
+        when(brokenKeys.generateAccessToken(anyString(), anyString())).thenThrow(new IllegalStateException("no key"));
+        HealthSnapshotService health = healthService(new DatabaseBulkhead(1, 1_000), brokenKeys);
+        HealthController controller = new HealthController(health);
+
+        health.refresh();
+
+        ResponseEntity<Map<String, Object>> ready = controller.readiness();
+        assertThat(ready.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(ready.getBody()).containsEntry("jwtKeys", "DOWN").containsEntry("database", "UP");
+        assertThat(controller.health().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(controller.liveness().getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void readinessIsDownUntilTheFirstSnapshot() {
+        HealthController controller = new HealthController(healthService(new DatabaseBulkhead(1, 1_000), jwtUtil));
+
+        assertThat(controller.readiness().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(controller.liveness().getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    // Queries the real pool directly, so only the given bulkhead's queue counts towards saturation
+    @SuppressWarnings("unchecked")
+    private HealthSnapshotService healthService(DatabaseBulkhead bulkhead, JwtUtil keys) {
+        ObjectProvider<DatabaseBulkhead> bulkheadProvider = mock(ObjectProvider.class);
+        when(bulkheadProvider.getIfAvailable()).thenReturn(bulkhead);
+        HikariDataSource pool;
+        try {
+            pool = dataSource.unwrap(HikariDataSource.class);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+
+        HealthSnapshotService health = new HealthSnapshotService(pool, bulkheadProvider, keys, 2);
+        ReflectionTestUtils.setField(health, "refreshIntervalMillis", 5_000L);
+        ReflectionTestUtils.setField(health, "maxWaitingThreads", 0);
+        return health;
+    }
+}
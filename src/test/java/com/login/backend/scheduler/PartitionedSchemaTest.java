@@ -0,0 +1,77 @@
+package com.login.backend.scheduler;
+
+import com.login.backend.AbstractIntegrationTest;
+import com.login.backend.dto.LoginRequest;
+import com.login.backend.dto.RegisterRequest;
+import com.login.backend.service.AuthService;
+import com.login.backend.service.TokenBlacklistService;
+import com.login.backend.service.TokenWriteBehindService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+// Runs on its own database: the partitioned tables must be created before Hibernate sees them
+@SpringBootTest
+@ActiveProfiles("partitioned")
+class PartitionedSchemaTest {
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        AbstractIntegrationTest.registerPostgres(registry, "partitioned");
+    }
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private TokenBlacklistService tokenBlacklistService;
+
+    @Autowired
+    private TokenWriteBehindService writeBehindService;
+
+    @Autowired
+    private TokenPartitionManager tokenPartitionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void tokenTablesArePartitionedAndUsableThroughTheOrm() {
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_partitioned_table p JOIN pg_class c ON c.oid = p.partrelid", String.class))
+                .contains("refresh_tokens", "blacklisted_tokens");
+
+        RegisterRequest register = new RegisterRequest();
+        register.setUsername("partitioned-user");
+        register.setEmail("partitioned-user@example.com");
+        register.setPassword("correct-horse-battery");
+        authService.register(register);
+
+        LoginRequest login = new LoginRequest();
+        login.setUsername("partitioned-user");
+        login.setPassword("correct-horse-battery");
+        String accessToken = authService.login(login, new MockHttpServletRequest()).getAccessToken();
+
+        tokenBlacklistService.blacklistToken(accessToken);
+        writeBehindService.flush();
+        tokenPartitionManager.maintainPartitions();
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM blacklisted_tokens", Long.class))
+                        .isEqualTo(1L));
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM refresh_tokens rt JOIN users u ON u.id = rt.user_id " +
+                "WHERE u.username = 'partitioned-user' AND rt.revoked = false", Long.class))
+                .isEqualTo(1L);
+    }
+}
@@ -0,0 +1,104 @@
+package com.login.backend.scheduler;
+
+import com.login.backend.AbstractIntegrationTest;
+import com.login.backend.model.Role;
+import com.login.backend.model.User;
+import com.login.backend.repository.UserRepository;
+import com.login.backend.security.TokenHasher;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenCleanupSchedulerTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private TokenCleanupScheduler tokenCleanupScheduler;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void purgesExpiredAndLongRevokedTokensAndStaleTombstonesOnly() {
+        User user = userRepository.save(User.builder()
+                .username("purge-" + UUID.randomUUID().toString().substring(0, 8))
+                .email(UUID.randomUUID() + "@example.com")
+                .password("{noop}unused")
+                .role(Role.USER)
+                .build());
+        LocalDateTime now = LocalDateTime.now();
+
+        long expired = insertRefreshToken(user.getId(), now.minusMinutes(1), null);
+        long longRevoked = insertRefreshToken(user.getId(), now.plusDays(1), now.minusDays(2));
+        long recentlyRevoked = insertRefreshToken(user.getId(), now.plusDays(1), now.minusMinutes(5));
+        long active = insertRefreshToken(user.getId(), now.plusDays(1), null);
+        UUID expiredBlacklisted = insertBlacklistedToken(now.minusMinutes(1));
+        UUID liveBlacklisted = insertBlacklistedToken(now.plusHours(1));
+        String staleTombstone = insertTombstone(now.minusDays(1));
+        String liveTombstone = insertTombstone(now.minusSeconds(1));
+
+        tokenCleanupScheduler.cleanupExpiredTokens();
+
+        assertThat(refreshTokenExists(expired)).isFalse();
+        assertThat(refreshTokenExists(longRevoked)).isFalse();
+        assertThat(refreshTokenExists(recentlyRevoked)).isTrue();
+        assertThat(refreshTokenExists(active)).isTrue();
+        assertThat(blacklistedTokenExists(expiredBlacklisted)).isFalse();
+        assertThat(blacklistedTokenExists(liveBlacklisted)).isTrue();
+        assertThat(tombstoneExists(staleTombstone)).isFalse();
+        assertThat(tombstoneExists(liveTombstone)).isTrue();
+        assertThat(tokenCleanupScheduler.getRefreshTokenBacklog()).isZero();
+        assertThat(tokenCleanupScheduler.getBlacklistedTokenBacklog()).isZero();
+    }
+
+    private long insertRefreshToken(long userId, LocalDateTime expiryDate, LocalDateTime revokedAt) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO refresh_tokens (id, token_hash, user_id, expiry_date, created_at, revoked, revoked_at) " +
+                "VALUES (nextval('refresh_tokens_id_seq'), ?, ?, ?, ?, ?, ?) RETURNING id",
+                Long.class,
+                TokenHasher.sha256(UUID.randomUUID().toString()),
+                userId,
+                Timestamp.valueOf(expiryDate),
+                Timestamp.valueOf(LocalDateTime.now().minusDays(3)),
+                revokedAt != null,
+                revokedAt != null ? Timestamp.valueOf(revokedAt) : null);
+    }
+
+    private UUID insertBlacklistedToken(LocalDateTime expiryDate) {
+        UUID tokenId = UUID.randomUUID();
+        jdbcTemplate.update(
+                "INSERT INTO blacklisted_tokens (id, token_id, expiry_date, blacklisted_at) " +
+                "VALUES (nextval('blacklisted_tokens_id_seq'), ?, ?, ?)",
+                tokenId, Timestamp.valueOf(expiryDate), Timestamp.valueOf(LocalDateTime.now()));
+        return tokenId;
+    }
+
+    private String insertTombstone(LocalDateTime tokensValidAfter) {
+        String username = "gone-" + UUID.randomUUID().toString().substring(0, 8);
+        jdbcTemplate.update("INSERT INTO revocation_tombstones (username, tokens_valid_after) VALUES (?, ?)",
+                username, Timestamp.valueOf(tokensValidAfter));
+        return username;
+    }
+
+    private boolean refreshTokenExists(long id) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM refresh_tokens WHERE id = ?", Long.class, id) > 0;
+    }
+
+    private boolean blacklistedTokenExists(UUID tokenId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM blacklisted_tokens WHERE token_id = ?", Long.class, tokenId) > 0;
+    }
+
+    private boolean tombstoneExists(String username) {
+        return jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM revocation_tombstones WHERE username = ?", Long.class, username) > 0;
+    }
+}
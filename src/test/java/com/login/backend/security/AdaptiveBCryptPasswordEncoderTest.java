@@ -0,0 +1,57 @@
+package com.login.backend.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveBCryptPasswordEncoderTest {
+
+    private final AdaptiveBCryptPasswordEncoder encoder = new AdaptiveBCryptPasswordEncoder(6);
+
+    @Test
+    void upgradesHashesBelowTheCurrentCost() {
+        String weaker = new BCryptPasswordEncoder(4).encode("secret");
+
+        assertThat(encoder.upgradeEncoding(weaker)).isTrue();
+    }
+
+    @Test
+    void neverDowngradesHashesAtOrAboveTheCurrentCost() {
+        String same = new BCryptPasswordEncoder(6).encode("secret");
+        String stronger = new BCryptPasswordEncoder(7).encode("secret");
+
+        assertThat(encoder.upgradeEncoding(same)).isFalse();
+        assertThat(encoder.upgradeEncoding(stronger)).isFalse();
+    }
+
+    @Test
+    void delegatingEncoderJudgesUnprefixedLegacyHashesByCost() {
+        PasswordEncoder delegating = SecurityConfig.delegatingPasswordEncoder(encoder);
+        String weaker = new BCryptPasswordEncoder(4).encode("secret");
+        String stronger = new BCryptPasswordEncoder(7).encode("secret");
+
+        assertThat(delegating.upgradeEncoding(weaker)).isTrue();
+        assertThat(delegating.upgradeEncoding(stronger)).isFalse();
+        assertThat(delegating.matches("secret", stronger)).isTrue();
+    }
+
+    @Test
+    void delegatingEncoderJudgesPrefixedHashesByCost() {
+        PasswordEncoder delegating = SecurityConfig.delegatingPasswordEncoder(encoder);
+
+        assertThat(delegating.upgradeEncoding("{bcrypt}" + new BCryptPasswordEncoder(4).encode("secret"))).isTrue();
+        assertThat(delegating.upgradeEncoding(delegating.encode("secret"))).isFalse();
+        assertThat(delegating.upgradeEncoding("{bcrypt}" + new BCryptPasswordEncoder(7).encode("secret"))).isFalse();
+        // Any {id} other than bcrypt is re-encoded as bcrypt on the next login
+        assertThat(delegating.upgradeEncoding("{noop}secret")).isTrue();
+    }
+
+    @Test
+    void ignoresValuesThatAreNotBcryptHashes() {
+        assertThat(encoder.upgradeEncoding(null)).isFalse();
+        assertThat(encoder.upgradeEncoding("plain")).isFalse();
+        assertThat(encoder.upgradeEncoding("$2a$xx$abc")).isFalse();
+    }
+}
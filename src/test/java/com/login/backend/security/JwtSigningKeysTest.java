@@ -0,0 +1,40 @@
+package com.login.backend.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtSigningKeysTest {
+
+    private static final String SECRET = "unit-test-secret-0123456789abcdefghijklmnop";
+
+    @Test
+    void es256WithoutConfiguredKeyFailsAtStartup() {
+        JwtKeyProperties properties = new JwtKeyProperties();
+        properties.setAlgorithm("ES256");
+
+        assertThatThrownBy(() -> new JwtSigningKeys(properties, SECRET))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("allow-ephemeral-key");
+    }
+
+    @Test
+    void es256GeneratesEphemeralKeyOnlyWhenAllowed() {
+        JwtKeyProperties properties = new JwtKeyProperties();
+        properties.setAlgorithm("ES256");
+        properties.setAllowEphemeralKey(true);
+
+        JwtSigningKeys keys = new JwtSigningKeys(properties, SECRET);
+
+        assertThat(keys.isAsymmetric()).isTrue();
+        assertThat(keys.getActiveKeyId()).startsWith("ephemeral-");
+        assertThat(keys.getJsonWebKeys()).hasSize(1);
+    }
+
+    @Test
+    void hs256RequiresLongEnoughSecret() {
+        assertThatThrownBy(() -> new JwtSigningKeys(new JwtKeyProperties(), "too-short"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,64 @@
+package com.login.backend.service;
+
+import com.login.backend.AbstractIntegrationTest;
+import com.login.backend.dto.BulkUserRequest;
+import com.login.backend.dto.BulkUserResult;
+import com.login.backend.model.Role;
+import com.login.backend.model.User;
+import com.login.backend.repository.RevocationTombstoneRepository;
+import com.login.backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdminUserServiceTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private AdminUserService adminUserService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RevocationTombstoneRepository revocationTombstoneRepository;
+
+    @Test
+    void bulkDeleteLeavesTombstonesAndSkipsTheActingAdmin() {
+        User admin = saveUser(Role.ADMIN);
+        User first = saveUser(Role.USER);
+        User second = saveUser(Role.USER);
+        Instant issuedBeforeDelete = Instant.now().minusSeconds(5);
+
+        BulkUserRequest request = new BulkUserRequest();
+        request.setIds(List.of(admin.getId(), first.getId(), second.getId(), first.getId()));
+        BulkUserResult result = adminUserService.deleteUsers(request, admin.getUsername());
+
+        assertThat(result.getMatchedUsers()).isEqualTo(2);
+        assertThat(result.getSkippedUsers()).isEqualTo(1);
+        assertThat(result.getUsersRevoked()).isEqualTo(2);
+        assertThat(result.getUsersDeleted()).isEqualTo(2);
+        assertThat(userRepository.findById(admin.getId())).isPresent();
+        assertThat(userRepository.findAllById(List.of(first.getId(), second.getId()))).isEmpty();
+        assertThat(revocationTombstoneRepository.findAllById(List.of(first.getUsername(), second.getUsername())))
+                .hasSize(2);
+        assertThat(tokenRevocationService.isRevoked(first.getUsername(), issuedBeforeDelete)).isTrue();
+        assertThat(tokenRevocationService.isRevoked(admin.getUsername(), issuedBeforeDelete)).isFalse();
+    }
+
+    private User saveUser(Role role) {
+        return userRepository.save(User.builder()
+                .username("bulk-" + UUID.randomUUID().toString().substring(0, 8))
+                .email(UUID.randomUUID() + "@example.com")
+                .password("{noop}unused")
+                .role(role)
+                .build());
+    }
+}
@@ -0,0 +1,61 @@
+package com.login.backend.service;
+
+import com.login.backend.AbstractIntegrationTest;
+import com.login.backend.dto.LoginEventPageResponse;
+import com.login.backend.model.LoginEvent;
+import com.login.backend.model.LoginEventType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class LoginAuditServiceTest extends AbstractIntegrationTest {
+
+    private static final String USER_AGENT =
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0 Safari/537.36";
+
+    @Autowired
+    private LoginAuditService loginAuditService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void bufferedEventsAreWrittenAndPagedNewestFirst() {
+        String username = "audit-" + UUID.randomUUID().toString().substring(0, 8);
+
+        loginAuditService.record(LoginEventType.LOGIN_FAILURE, username, "10.0.0.1", USER_AGENT);
+        loginAuditService.record(LoginEventType.LOGIN_SUCCESS, username, "10.0.0.1", USER_AGENT);
+        loginAuditService.record(LoginEventType.LOGOUT, username, "10.0.0.2", null);
+        loginAuditService.flush();
+
+        // The scheduled flush may have drained the buffer first; wait for its commit
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(jdbcTemplate.queryForObject(
+                        "SELECT count(*) FROM login_events WHERE username = ?", Long.class, username))
+                        .isEqualTo(3L));
+
+        LoginEventPageResponse first = loginAuditService.getEvents(username, null, null, 2);
+        assertThat(first.getEvents()).extracting(LoginEvent::getEventType)
+                .containsExactly(LoginEventType.LOGOUT, LoginEventType.LOGIN_SUCCESS);
+        assertThat(first.getNextCursor()).isNotNull();
+
+        LoginEventPageResponse second = loginAuditService.getEvents(username, null, first.getNextCursor(), 2);
+        assertThat(second.getEvents()).singleElement().satisfies(event -> {
+            assertThat(event.getEventType()).isEqualTo(LoginEventType.LOGIN_FAILURE);
+            assertThat(event.getIpAddress()).isEqualTo("10.0.0.1");
+            assertThat(event.getUserAgent()).isEqualTo(USER_AGENT);
+            assertThat(event.getDeviceName()).isNotBlank();
+            assertThat(event.getOccurredAt()).isNotNull();
+        });
+        assertThat(second.getNextCursor()).isNull();
+
+        assertThat(loginAuditService.getEvents(username, LoginEventType.LOGIN_SUCCESS, null, 10).getEvents())
+                .hasSize(1);
+    }
+}
@@ -0,0 +1,111 @@
+package com.login.backend.service;
+
+import com.login.backend.AbstractIntegrationTest;
+import com.login.backend.SqlStatementCounter;
+import com.login.backend.dto.AuthResponse;
+import com.login.backend.dto.LoginRequest;
+import com.login.backend.dto.RefreshTokenRequest;
+import com.login.backend.dto.RegisterRequest;
+import com.login.backend.exception.TokenException;
+import com.login.backend.security.TokenHasher;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class RefreshTokenServiceTest extends AbstractIntegrationTest {
+
+    private static final String PASSWORD = "correct-horse-battery";
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private TokenWriteBehindService writeBehindService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void refreshIsOneQuery() {
+        AuthResponse login = login(register());
+
+        SqlStatementCounter.reset();
+        AuthResponse refreshed = authService.refreshToken(refreshRequest(login.getRefreshToken()),
+                new MockHttpServletRequest());
+
+        assertThat(SqlStatementCounter.count()).isEqualTo(1);
+        assertThat(refreshed.getUsername()).isEqualTo(login.getUsername());
+        assertThat(refreshed.getRole()).isEqualTo("USER");
+        assertThat(refreshed.getAccessToken()).isNotBlank();
+    }
+
+    @Test
+    void revokedTokenIsRejectedBeforeAndAfterTheRevocationIsWritten() {
+        String refreshToken = login(register()).getRefreshToken();
+
+        refreshTokenService.revokeRefreshToken(refreshToken);
+        assertThatThrownBy(() -> refreshTokenService.verifyRefreshToken(refreshToken))
+                .isInstanceOf(TokenException.class)
+                .hasMessageContaining("revoked");
+
+        writeBehindService.flush();
+        await().atMost(Duration.ofSeconds(5)).until(() -> jdbcTemplate.queryForObject(
+                "SELECT revoked FROM refresh_tokens WHERE token_hash = ?", Boolean.class,
+                (Object) TokenHasher.sha256(refreshToken)));
+        assertThatThrownBy(() -> refreshTokenService.verifyRefreshToken(refreshToken))
+                .isInstanceOf(TokenException.class)
+                .hasMessageContaining("revoked");
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        String refreshToken = login(register()).getRefreshToken();
+        jdbcTemplate.update("UPDATE refresh_tokens SET expiry_date = now() - interval '1 minute' WHERE token_hash = ?",
+                (Object) TokenHasher.sha256(refreshToken));
+
+        assertThatThrownBy(() -> refreshTokenService.verifyRefreshToken(refreshToken))
+                .isInstanceOf(TokenException.class)
+                .hasMessageContaining("expired");
+    }
+
+    @Test
+    void unknownTokenIsRejected() {
+        assertThatThrownBy(() -> refreshTokenService.verifyRefreshToken(UUID.randomUUID().toString()))
+                .isInstanceOf(TokenException.class)
+                .hasMessageContaining("not found");
+    }
+
+    private String register() {
+        String username = "refresh-" + UUID.randomUUID().toString().substring(0, 8);
+        RegisterRequest register = new RegisterRequest();
+        register.setUsername(username);
+        register.setEmail(username + "@example.com");
+        register.setPassword(PASSWORD);
+        authService.register(register);
+        return username;
+    }
+
+    private AuthResponse login(String username) {
+        LoginRequest login = new LoginRequest();
+        login.setUsername(username);
+        login.setPassword(PASSWORD);
+        return authService.login(login, new MockHttpServletRequest());
+    }
+
+    private static RefreshTokenRequest refreshRequest(String refreshToken) {
+        RefreshTokenRequest request = new RefreshTokenRequest();
+        request.setRefreshToken(refreshToken);
+        return request;
+    }
+}
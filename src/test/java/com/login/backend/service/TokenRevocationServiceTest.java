@@ -0,0 +1,62 @@
+package com.login.backend.service;
+
+import com.login.backend.AbstractIntegrationTest;
+import com.login.backend.cluster.InvalidationBus;
+import com.login.backend.model.Role;
+import com.login.backend.model.User;
+import com.login.backend.repository.RevocationTombstoneRepository;
+import com.login.backend.repository.UserRepository;
+import com.login.backend.security.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenRevocationServiceTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RevocationTombstoneRepository revocationTombstoneRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private InvalidationBus invalidationBus;
+
+    @Test
+    void deletedUsersTokensStayRevokedAfterARestart() {
+        User user = userRepository.save(User.builder()
+                .username("deleted-" + UUID.randomUUID().toString().substring(0, 8))
+                .email(UUID.randomUUID() + "@example.com")
+                .password("{noop}unused")
+                .role(Role.USER)
+                .build());
+        Instant issuedBeforeDelete = Instant.now().minusSeconds(5);
+
+        userService.deleteUser(user.getId());
+
+        assertThat(userRepository.findById(user.getId())).isEmpty();
+        assertThat(revocationTombstoneRepository.findById(user.getUsername())).isPresent();
+        assertThat(tokenRevocationService.isRevoked(user.getUsername(), issuedBeforeDelete)).isTrue();
+
+        // A node that starts after the delete only has what warmCache reads back
+        TokenRevocationService restarted =
+                new TokenRevocationService(userRepository, revocationTombstoneRepository, jwtUtil, invalidationBus);
+        restarted.warmCache();
+
+        assertThat(restarted.isRevoked(user.getUsername(), issuedBeforeDelete)).isTrue();
+        assertThat(restarted.isRevoked(user.getUsername(), Instant.now().plusSeconds(5))).isFalse();
+    }
+}
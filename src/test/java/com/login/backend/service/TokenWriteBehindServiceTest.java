@@ -0,0 +1,137 @@
+package com.login.backend.service;
+
+import com.login.backend.AbstractIntegrationTest;
+import com.login.backend.model.RefreshToken;
+import com.login.backend.model.Role;
+import com.login.backend.model.User;
+import com.login.backend.repository.RefreshTokenRepository;
+import com.login.backend.repository.UserRepository;
+import com.login.backend.security.TokenHasher;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TokenWriteBehindServiceTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private TokenWriteBehindService writeBehindService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void flushInsertsEachBlacklistedTokenOnce() {
+        UUID tokenId = UUID.randomUUID();
+        LocalDateTime expiryDate = LocalDateTime.now().plusHours(1);
+
+        writeBehindService.enqueueBlacklist(tokenId, expiryDate);
+        writeBehindService.enqueueBlacklist(tokenId, expiryDate);
+        writeBehindService.flush();
+
+        // The scheduled flush may have drained the queue first; wait for its commit
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(jdbcTemplate.queryForObject(
+                        "SELECT count(*) FROM blacklisted_tokens WHERE token_id = ?", Long.class, tokenId))
+                        .isEqualTo(1L));
+    }
+
+    @Test
+    void flushRevokesRefreshTokenByHash() {
+        String token = UUID.randomUUID().toString();
+        Long id = saveRefreshToken(token);
+
+        writeBehindService.enqueueRefreshTokenRevocation(TokenHasher.sha256(token));
+        assertThat(writeBehindService.isRevocationPending(TokenHasher.sha256(token))).isTrue();
+        writeBehindService.flush();
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            Map<String, Object> row = jdbcTemplate.queryForMap(
+                    "SELECT revoked, revoked_at FROM refresh_tokens WHERE id = ?", id);
+            assertThat(row.get("revoked")).isEqualTo(true);
+            assertThat(row.get("revoked_at")).isNotNull();
+            assertThat(writeBehindService.isRevocationPending(TokenHasher.sha256(token))).isFalse();
+        });
+    }
+
+    @Test
+    void remoteRevocationIsLeftToItsOriginDuringTheGracePeriod() {
+        TokenWriteBehindService node = new TokenWriteBehindService(jdbcTemplate, transactionTemplate, 500, 60_000);
+        String token = UUID.randomUUID().toString();
+        Long id = saveRefreshToken(token);
+
+        node.markRemoteRevocation(TokenHasher.sha256(token));
+        node.flush();
+
+        assertThat(node.isRevocationPending(TokenHasher.sha256(token))).isTrue();
+        assertThat(jdbcTemplate.queryForObject("SELECT revoked FROM refresh_tokens WHERE id = ?", Boolean.class, id))
+                .isFalse();
+    }
+
+    @Test
+    void remoteRevocationIsWrittenHereOnceTheGracePeriodIsOver() {
+        TokenWriteBehindService node = new TokenWriteBehindService(jdbcTemplate, transactionTemplate, 500, 0);
+        String token = UUID.randomUUID().toString();
+        Long id = saveRefreshToken(token);
+
+        node.markRemoteRevocation(TokenHasher.sha256(token));
+        node.flush();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT revoked FROM refresh_tokens WHERE id = ?", Boolean.class, id))
+                .isTrue();
+        assertThat(node.isRevocationPending(TokenHasher.sha256(token))).isFalse();
+    }
+
+    @Test
+    void remoteRevocationStaysPendingWhileItCannotBeWritten() {
+        JdbcTemplate failing = mock(JdbcTemplate.class);
+        when(failing.batchUpdate(anyString(), anyList())).thenThrow(new CannotGetJdbcConnectionException("down"));
+        TokenWriteBehindService node = new TokenWriteBehindService(failing,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), 500, 0);
+        byte[] tokenHash = TokenHasher.sha256(UUID.randomUUID().toString());
+
+        node.markRemoteRevocation(tokenHash);
+        node.flush();
+        node.flush();
+
+        assertThat(node.isRevocationPending(tokenHash)).isTrue();
+        assertThat(node.getPendingCount()).isEqualTo(1);
+    }
+
+    private Long saveRefreshToken(String token) {
+        User user = userRepository.save(User.builder()
+                .username("write-behind-" + UUID.randomUUID().toString().substring(0, 8))
+                .email(UUID.randomUUID() + "@example.com")
+                .password("{noop}unused")
+                .role(Role.USER)
+                .build());
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setTokenHash(TokenHasher.sha256(token));
+        refreshToken.setUser(user);
+        refreshToken.setExpiryDate(LocalDateTime.now().plusDays(1));
+        return refreshTokenRepository.save(refreshToken).getId();
+    }
+}
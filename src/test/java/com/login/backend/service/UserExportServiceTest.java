@@ -0,0 +1,144 @@
+package com.login.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.login.backend.AbstractIntegrationTest;
+import com.login.backend.model.RefreshToken;
+import com.login.backend.model.Role;
+import com.login.backend.model.User;
+import com.login.backend.repository.RefreshTokenRepository;
+import com.login.backend.repository.UserRepository;
+import com.login.backend.security.TokenHasher;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserExportServiceTest extends AbstractIntegrationTest {
+
+    private static final String PASSWORD = "correct-horse-battery";
+
+    @Autowired
+    private UserExportService userExportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void ndjsonHasOneObjectPerUserWithItsActiveSessions() throws IOException {
+        User user = saveUser(Role.USER, "{noop}unused", UUID.randomUUID() + "@example.com");
+        saveRefreshToken(user, LocalDateTime.now().plusDays(1), false);
+        saveRefreshToken(user, LocalDateTime.now().plusDays(1), true);
+        saveRefreshToken(user, LocalDateTime.now().minusMinutes(1), false);
+
+        List<JsonNode> rows = new ArrayList<>();
+        for (String line : export(UserExportService.Format.NDJSON).split("\n")) {
+            rows.add(objectMapper.readTree(line));
+        }
+
+        JsonNode row = rows.stream()
+                .filter(node -> node.get("username").asText().equals(user.getUsername()))
+                .findFirst()
+                .orElseThrow();
+        assertThat(row.get("id").asLong()).isEqualTo(user.getId());
+        assertThat(row.get("email").asText()).isEqualTo(user.getEmail());
+        assertThat(row.get("role").asText()).isEqualTo("USER");
+        assertThat(row.get("createdAt").asText()).isNotBlank();
+        assertThat(row.get("activeSessions").asLong()).isEqualTo(1);
+        assertThat(rows).extracting(node -> node.get("id").asLong()).isSorted();
+    }
+
+    @Test
+    void csvHasAHeaderAndQuotesFieldsThatNeedIt() throws IOException {
+        User user = saveUser(Role.USER, "{noop}unused", "\"quoted\",user@example.com");
+
+        String[] lines = export(UserExportService.Format.CSV).split("\n");
+
+        assertThat(lines[0]).isEqualTo("id,username,email,role,created_at,updated_at,active_sessions");
+        assertThat(lines).anySatisfy(line -> assertThat(line).startsWith(
+                user.getId() + "," + user.getUsername() + ",\"\"\"quoted\"\",user@example.com\",USER,"));
+    }
+
+    @Test
+    void exportsBeyondTheConcurrencyCapAreRejected() {
+        User admin = saveUser(Role.ADMIN, passwordEncoder.encode(PASSWORD), UUID.randomUUID() + "@example.com");
+        ResponseEntity<Map> login = restTemplate.postForEntity("/api/auth/login",
+                Map.of("username", admin.getUsername(), "password", PASSWORD), Map.class);
+        assertThat(login.getStatusCode()).isEqualTo(HttpStatus.OK);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth((String) login.getBody().get("accessToken"));
+        HttpEntity<Void> request = new HttpEntity<>(headers);
+
+        assertThat(userExportService.tryStartExport()).isTrue();
+        try {
+            ResponseEntity<String> rejected =
+                    restTemplate.exchange("/api/admin/users/export", HttpMethod.GET, request, String.class);
+            assertThat(rejected.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+            assertThat(rejected.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isNotBlank();
+        } finally {
+            userExportService.finishExport();
+        }
+
+        // The slot of a finished export is free again
+        ResponseEntity<String> first =
+                restTemplate.exchange("/api/admin/users/export?format=csv", HttpMethod.GET, request, String.class);
+        ResponseEntity<String> second =
+                restTemplate.exchange("/api/admin/users/export?format=csv", HttpMethod.GET, request, String.class);
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(second.getBody()).contains(admin.getUsername());
+    }
+
+    private String export(UserExportService.Format format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        userExportService.export(format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private User saveUser(Role role, String password, String email) {
+        return userRepository.save(User.builder()
+                .username("export-" + UUID.randomUUID().toString().substring(0, 8))
+                .email(email)
+                .password(password)
+                .role(role)
+                .build());
+    }
+
+    private void saveRefreshToken(User user, LocalDateTime expiryDate, boolean revoked) {
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setTokenHash(TokenHasher.sha256(UUID.randomUUID().toString()));
+        refreshToken.setUser(user);
+        refreshToken.setExpiryDate(expiryDate);
+        refreshToken.setRevoked(revoked);
+        refreshToken.setRevokedAt(revoked ? LocalDateTime.now() : null);
+        refreshTokenRepository.save(refreshToken);
+    }
+}
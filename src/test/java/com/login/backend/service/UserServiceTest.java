@@ -0,0 +1,118 @@
+package com.login.backend.service;
+
+import com.login.backend.AbstractIntegrationTest;
+import com.login.backend.dto.UserPageResponse;
+import com.login.backend.model.Role;
+import com.login.backend.model.User;
+import com.login.backend.repository.UserRepository;
+import com.login.backend.repository.projection.UserSummary;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserServiceTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void pagesCoverEveryUserExactlyOnceInIdOrder() {
+        for (int i = 0; i < 7; i++) {
+            saveUser(i % 3 == 0 ? Role.ADMIN : Role.USER);
+        }
+
+        List<Long> walked = walk(null, null, 3);
+
+        assertThat(walked).isEqualTo(jdbcTemplate.queryForList("SELECT id FROM users ORDER BY id", Long.class));
+    }
+
+    @Test
+    void roleFilterPagesCoverEveryMatchingUserExactlyOnce() {
+        for (int i = 0; i < 7; i++) {
+            saveUser(i % 2 == 0 ? Role.ADMIN : Role.USER);
+        }
+
+        List<Long> admins = walk(null, Role.ADMIN, 2);
+
+        assertThat(admins).isEqualTo(jdbcTemplate.queryForList(
+                "SELECT id FROM users WHERE role = 'ADMIN' ORDER BY id", Long.class));
+        assertThat(walk(null, Role.USER, 2)).isEqualTo(jdbcTemplate.queryForList(
+                "SELECT id FROM users WHERE role = 'USER' ORDER BY id", Long.class));
+    }
+
+    @Test
+    void rowsDeletedOrAddedBetweenPagesDoNotShiftTheRemainingPages() {
+        long start = saveUser(Role.USER).getId() - 1;
+        for (int i = 0; i < 5; i++) {
+            saveUser(Role.USER);
+        }
+        List<Long> before = jdbcTemplate.queryForList("SELECT id FROM users WHERE id > ? ORDER BY id", Long.class, start);
+
+        // Starts at this test's own users: the first one is deleted behind the cursor
+        UserPageResponse first = userService.getUsersPage(start, 2, null);
+        List<Long> walked = new ArrayList<>(ids(first));
+        // An offset would now skip a row; the id cursor does not care what happened before it
+        userRepository.deleteById(walked.get(0));
+        User added = saveUser(Role.USER);
+        walked.addAll(walk(first.getNextCursor(), null, 2));
+
+        List<Long> expected = new ArrayList<>(before);
+        expected.add(added.getId());
+        assertThat(walked).isEqualTo(expected);
+    }
+
+    @Test
+    void limitIsClampedAndTheLastPageHasNoCursor() {
+        saveUser(Role.USER);
+        long total = jdbcTemplate.queryForObject("SELECT count(*) FROM users", Long.class);
+
+        UserPageResponse tooSmall = userService.getUsersPage(null, 0, null);
+        assertThat(tooSmall.getLimit()).isEqualTo(1);
+        assertThat(tooSmall.getUsers()).hasSize(1);
+
+        UserPageResponse everything = userService.getUsersPage(null, Integer.MAX_VALUE, null);
+        assertThat(everything.getLimit()).isEqualTo(200);
+        if (total <= 200) {
+            assertThat(everything.getUsers()).hasSize((int) total);
+            assertThat(everything.getNextCursor()).isNull();
+        }
+    }
+
+    private List<Long> walk(Long cursor, Role role, int limit) {
+        List<Long> ids = new ArrayList<>();
+        do {
+            UserPageResponse page = userService.getUsersPage(cursor, limit, role);
+            assertThat(page.getUsers()).hasSizeLessThanOrEqualTo(limit)
+                    .allMatch(user -> role == null || user.getRole() == role);
+            ids.addAll(ids(page));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+
+    private static List<Long> ids(UserPageResponse page) {
+        return page.getUsers().stream().map(UserSummary::getId).toList();
+    }
+
+    private User saveUser(Role role) {
+        String name = "page-" + UUID.randomUUID().toString().substring(0, 8);
+        return userRepository.save(User.builder()
+                .username(name)
+                .email(name + "@example.com")
+                .password("{noop}unused")
+                .role(role)
+                .build());
+    }
+}